@@ -0,0 +1,35 @@
+package org.example.bench;
+
+import java.util.List;
+
+import org.example.pages.BasePage;
+import org.example.pages.FormAction;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Exposes the protected {@link BasePage} primitives to the benchmarks.
+ */
+final class BenchmarkPage extends BasePage {
+
+    BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+
+    WebElement waitVisible(By locator) {
+        return waitForVisibilityAndGetElement(locator);
+    }
+
+    void click(By locator) {
+        clickElement(locator);
+    }
+
+    void type(By locator, String text) {
+        sendKeysToElement(locator, text);
+    }
+
+    void batch(List<FormAction> actions) {
+        performBatch(actions);
+    }
+}
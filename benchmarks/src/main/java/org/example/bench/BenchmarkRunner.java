@@ -0,0 +1,65 @@
+package org.example.bench;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line and, unless told
+ * otherwise with {@code -rf}/{@code -rff}, writes results as JSON to {@code jmh-result.json} next to
+ * the jar, i.e. {@code benchmarks/target/jmh-result.json} whatever the working directory, so runs can be
+ * compared for regressions.
+ */
+public final class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("org\\.example\\.bench\\..*");
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(defaultResultFile().toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * @return {@link #DEFAULT_RESULT_FILE} in the directory holding the jar (or the classes directory when run
+     * from the build), or in {@code target/} of the working directory if that can't be found.
+     */
+    private static Path defaultResultFile() {
+        try {
+            CodeSource source = BenchmarkRunner.class.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null) {
+                Path parent = Paths.get(source.getLocation().toURI()).getParent();
+                if (parent != null) {
+                    return parent.resolve(DEFAULT_RESULT_FILE);
+                }
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            // Fall back to the working directory below.
+        }
+        return Paths.get("target", DEFAULT_RESULT_FILE);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.bench;
+
+import java.time.Duration;
+
+import org.example.driver.BrowserProfile;
+import org.example.stub.CheckoutStubServer;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A headless desktop Chrome pointed at a local stub checkout server with zero added latency.
+ */
+final class BrowserFixture implements AutoCloseable {
+    final CheckoutStubServer server;
+    final WebDriver driver;
+
+    private BrowserFixture(CheckoutStubServer server, WebDriver driver) {
+        this.server = server;
+        this.driver = driver;
+    }
+
+    /**
+     * Starts the stub and a browser, then opens the given stub page.
+     * @param path Page path, e.g. {@code /payment/order}.
+     */
+    static BrowserFixture open(String path) {
+        if (System.getProperty("browser.headless") == null) {
+            System.setProperty("browser.headless", "true");
+        }
+        CheckoutStubServer server = CheckoutStubServer.start(0, Duration.ZERO);
+        WebDriver driver = BrowserProfile.DESKTOP.newDriver();
+        driver.get(server.baseUrl() + path);
+        return new BrowserFixture(server, driver);
+    }
+
+    @Override
+    public void close() {
+        driver.quit();
+        server.close();
+    }
+}
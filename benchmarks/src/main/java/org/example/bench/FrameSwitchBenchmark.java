@@ -0,0 +1,80 @@
+package org.example.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.pages.Utilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+
+/**
+ * Cost of entering and leaving the payment iframe, by name, by element and through
+ * {@link Utilities#switchToPaymentIframe()} (which switches with a cached frame element), plus the cost
+ * of asking for the payment iframe when the page already tracks it as focused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameSwitchBenchmark {
+    private static final String FRAME_NAME = "___tosspayments_iframe___";
+
+    private BrowserFixture fixture;
+    private Utilities utilities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = BrowserFixture.open("/payment/refund");
+        ((JavascriptExecutor) fixture.driver).executeScript(
+            "var frame = document.createElement('iframe');"
+                + "frame.id = frame.name = arguments[0];"
+                + "frame.src = '/payment/iframe';"
+                + "document.body.appendChild(frame);", FRAME_NAME);
+        utilities = new Utilities(fixture.driver);
+        utilities.switchToPaymentIframe();
+        utilities.switchToMainContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void switchByName() {
+        fixture.driver.switchTo().frame(FRAME_NAME);
+        fixture.driver.switchTo().defaultContent();
+    }
+
+    @Benchmark
+    public void switchByElement() {
+        fixture.driver.switchTo().frame(fixture.driver.findElement(By.id(FRAME_NAME)));
+        fixture.driver.switchTo().defaultContent();
+    }
+
+    @Benchmark
+    public void switchToPaymentIframe() {
+        utilities.switchToPaymentIframe();
+        utilities.switchToMainContent();
+    }
+
+    @Benchmark
+    public void switchToPaymentIframeWhenFocused() {
+        utilities.switchToPaymentIframe();
+        utilities.switchToPaymentIframe();
+        utilities.switchToMainContent();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.pages.FormAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Per-call overhead of the {@code BasePage} interaction primitives compared with bare WebDriver calls
+ * on an element that is already visible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InteractionBenchmark {
+    private static final By NAME_FIELD = By.xpath("/html/body/div/div[1]/div/form/section[1]/div/div[1]/div/div/input");
+    private static final By PHONE_FIELD = By.xpath("/html/body/div/div[1]/div/form/section[1]/div/div[2]/div/div/input");
+    private static final By CARD_METHOD = By.id("icon-account-카드");
+
+    private BrowserFixture fixture;
+    private BenchmarkPage page;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = BrowserFixture.open("/payment/order");
+        page = new BenchmarkPage(fixture.driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void rawClick() {
+        fixture.driver.findElement(CARD_METHOD).click();
+    }
+
+    @Benchmark
+    public void clickElement() {
+        page.click(CARD_METHOD);
+    }
+
+    @Benchmark
+    public void rawSendKeys() {
+        WebElement element = fixture.driver.findElement(NAME_FIELD);
+        element.clear();
+        element.sendKeys("김지훈");
+    }
+
+    @Benchmark
+    public void sendKeysToElement() {
+        page.type(NAME_FIELD, "김지훈");
+    }
+
+    @Benchmark
+    public void twoFieldsNative() {
+        page.type(NAME_FIELD, "김지훈");
+        page.type(PHONE_FIELD, "010-4935-4537");
+    }
+
+    @Benchmark
+    public void twoFieldsBatched() {
+        page.batch(List.of(
+            FormAction.type(NAME_FIELD, "김지훈"),
+            FormAction.type(PHONE_FIELD, "010-4935-4537")));
+    }
+}
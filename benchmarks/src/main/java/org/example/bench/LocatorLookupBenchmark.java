@@ -0,0 +1,63 @@
+package org.example.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Lookup latency of the same element (the customer name field) per locator strategy,
+ * including the absolute XPath style used throughout {@code Utilities.Elements} and a text match,
+ * which finds the field through its label.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorLookupBenchmark {
+    private static final Map<String, By> LOCATORS = Map.of(
+        "id", By.id("customer-name"),
+        "name", By.name("name"),
+        "css", By.cssSelector("input[name='name']"),
+        "relativeXpath", By.xpath("//input[@name='name']"),
+        "absoluteXpath", By.xpath("/html/body/div/div[1]/div/form/section[1]/div/div[1]/div/div/input"),
+        "textXpath", By.xpath("//label[text()='이름']/following-sibling::div//input"));
+
+    @Param({"id", "name", "css", "relativeXpath", "absoluteXpath", "textXpath"})
+    public String strategy;
+
+    private BrowserFixture fixture;
+    private By locator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = BrowserFixture.open("/payment/order");
+        locator = LOCATORS.get(strategy);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return fixture.driver.findElement(locator);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.artifacts;
+
+/**
+ * One captured piece of browser state.
+ * @param name Base name, e.g. {@code screenshot}.
+ * @param mimeType MIME type of the uncompressed content.
+ * @param extension File extension of the uncompressed content.
+ * @param content The raw bytes.
+ * @param compress Whether to gzip the copy written to disk; false for formats that are already compressed.
+ */
+record Artifact(String name, String mimeType, String extension, byte[] content, boolean compress) {
+}
@@ -0,0 +1,172 @@
+package org.example.artifacts;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+/**
+ * Writes captured artifacts in the background: one directory per failure under {@code -Dartifacts.dir}
+ * (default {@code target/failure-artifacts}), gzipped where it helps, and an Allure attachment each. The
+ * attachments keep the original content and type, so the report still shows page sources and logs inline.
+ *
+ * <p>Allure attachments are registered on the submitting thread, because Allure tracks the running
+ * test per thread, but only once the write has been accepted; their content is written later. Queued
+ * artifacts are held in memory, so the queue is bounded by {@code -Dartifacts.maxQueuedMb} (default 64).
+ * When a burst of failures exceeds it, further captures are dropped and counted instead of blocking the
+ * tests or exhausting the heap.
+ * Pending work is flushed when the JVM exits.
+ */
+final class ArtifactPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactPipeline.class);
+    private static final int MAX_QUEUED_FAILURES = 256;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final ArtifactPipeline SHARED = new ArtifactPipeline(
+        Paths.get(System.getProperty("artifacts.dir", "target/failure-artifacts")),
+        Long.getLong("artifacts.maxQueuedMb", 64) * 1024 * 1024);
+
+    private final Path directory;
+    private final long maxQueuedBytes;
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+
+    private ArtifactPipeline(Path directory, long maxQueuedBytes) {
+        this.directory = directory;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED_FAILURES), runnable -> {
+                Thread thread = new Thread(runnable, "failure-artifacts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "failure-artifacts-flush"));
+    }
+
+    static ArtifactPipeline shared() {
+        return SHARED;
+    }
+
+    /**
+     * Queues a failure's artifacts, or drops them if the memory cap would be exceeded.
+     */
+    void submit(String step, List<Artifact> artifacts) {
+        long size = 0;
+        for (Artifact artifact : artifacts) {
+            size += artifact.content().length;
+        }
+        if (queuedBytes.addAndGet(size) > maxQueuedBytes) {
+            queuedBytes.addAndGet(-size);
+            logger.warn("Dropping failure artifacts for {}: {} MB already queued ({} dropped so far)",
+                step, maxQueuedBytes / (1024 * 1024), dropped.incrementAndGet());
+            return;
+        }
+        String failureName = String.format("%d-%03d-%s", System.currentTimeMillis(), sequence.incrementAndGet() % 1000, sanitize(step));
+        // Registered only once the write is accepted, so a dropped write never leaves empty attachments behind.
+        CompletableFuture<List<String>> allureSources = new CompletableFuture<>();
+        long queued = size;
+        try {
+            executor.execute(() -> {
+                try {
+                    write(failureName, artifacts, allureSources.join());
+                } finally {
+                    queuedBytes.addAndGet(-queued);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedBytes.addAndGet(-size);
+            logger.warn("Dropping failure artifacts for {}: queue full ({} dropped so far)", step, dropped.incrementAndGet());
+            return;
+        }
+        List<String> sources = null;
+        try {
+            sources = registerAttachments(step, artifacts);
+        } finally {
+            allureSources.complete(sources);
+        }
+    }
+
+    /**
+     * Adds attachment entries to the current Allure test or step, if there is one.
+     * @return Allure source names per artifact, or null when no Allure test is running.
+     */
+    private static List<String> registerAttachments(String step, List<Artifact> artifacts) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            return null;
+        }
+        return artifacts.stream()
+            .map(artifact -> lifecycle.prepareAttachment(step + " - " + artifact.name(), artifact.mimeType(), artifact.extension()))
+            .toList();
+    }
+
+    private void write(String failureName, List<Artifact> artifacts, List<String> allureSources) {
+        Path failureDirectory = directory.resolve(failureName);
+        try {
+            Files.createDirectories(failureDirectory);
+            for (int i = 0; i < artifacts.size(); i++) {
+                Artifact artifact = artifacts.get(i);
+                byte[] content = artifact.compress() ? gzip(artifact.content()) : artifact.content();
+                String fileName = artifact.name() + "." + artifact.extension() + (artifact.compress() ? ".gz" : "");
+                Files.write(failureDirectory.resolve(fileName), content);
+                if (allureSources != null) {
+                    Allure.getLifecycle().writeAttachment(allureSources.get(i), new ByteArrayInputStream(artifact.content()));
+                }
+            }
+            logger.info("Failure artifacts written to {}", failureDirectory);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not write failure artifacts to {}: {}", failureDirectory, e.toString());
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String sanitize(String step) {
+        String name = step.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9가-힣]+", "-").replaceAll("(^-|-$)", "");
+        return name.length() > 60 ? name.substring(0, 60) : name;
+    }
+
+    /**
+     * Waits for queued artifacts to be written.
+     */
+    private void flush() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Gave up waiting for {} queued failure artifacts", executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            logger.warn("{} failure artifact sets were dropped to stay within the queue limit", dropped.get());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.artifacts;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 단계 실패 시 스크린샷, 페이지 소스, 브라우저 콘솔 로그를 수집합니다.
+ * Only the driver calls happen on the failing thread; compression, disk writes and the Allure
+ * attachment bodies are handled by {@link ArtifactPipeline} in the background.
+ *
+ * <p>Disable with {@code -Dartifacts.capture=false}.
+ */
+public final class FailureArtifacts {
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifacts.class);
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("artifacts.capture", "true"));
+
+    /** Exceptions already captured, so a failure rethrown through nested page methods is captured once. */
+    private static final Map<Throwable, Boolean> captured = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FailureArtifacts() {
+    }
+
+    /**
+     * Grabs the browser state for a failed step and queues it for writing.
+     * Never throws; capture problems are logged and the original failure stays the one reported.
+     * @param driver The driver the step ran in.
+     * @param step A short description of the failed step, used in file and attachment names.
+     * @param failure The step's exception.
+     */
+    public static void capture(WebDriver driver, String step, Throwable failure) {
+        if (!ENABLED || driver == null || captured.put(failure, Boolean.TRUE) != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Artifact> artifacts = new ArrayList<>(3);
+        try {
+            if (driver instanceof TakesScreenshot) {
+                artifacts.add(new Artifact("screenshot", "image/png", "png", ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES), false));
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Screenshot capture failed: {}", e.toString());
+        }
+        try {
+            String source = driver.getPageSource();
+            if (source != null) {
+                artifacts.add(new Artifact("page-source", "text/html", "html", source.getBytes(StandardCharsets.UTF_8), true));
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Page source capture failed: {}", e.toString());
+        }
+        try {
+            StringBuilder console = new StringBuilder();
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                console.append(entry).append('\n');
+            }
+            if (console.length() > 0) {
+                artifacts.add(new Artifact("console", "text/plain", "log", console.toString().getBytes(StandardCharsets.UTF_8), true));
+            }
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            logger.debug("Browser log capture failed: {}", e.toString());
+        }
+        if (artifacts.isEmpty()) {
+            return;
+        }
+        ArtifactPipeline.shared().submit(step, artifacts);
+        logger.debug("Captured {} failure artifacts for {} in {} ms", artifacts.size(), step, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.data;
+
+/**
+ * 가상계좌 결제 흐름에 입력하는 테스트 데이터입니다.
+ * @param customerName 주문자 이름
+ * @param phoneNumber 주문자 휴대폰 번호
+ * @param refundBank 환불 받을 은행 (아이콘 파일 이름 기준, 예: "Shinhan")
+ * @param refundAccountHolder 환불 계좌 예금주
+ * @param refundAccountNumber 환불 계좌 번호
+ */
+public record CheckoutData(
+    String customerName,
+    String phoneNumber,
+    String refundBank,
+    String refundAccountHolder,
+    String refundAccountNumber) {
+
+    /** The data set the E2E tests have always used. */
+    public static final CheckoutData DEFAULT = new CheckoutData("김지훈", "010-4935-4537", "Shinhan", "박정웅", "110306197943");
+
+    /**
+     * @return A key that identifies the data entered before the refund account step, for checkpoint caching.
+     */
+    public String customerKey() {
+        return customerName + "|" + phoneNumber + "|" + refundBank;
+    }
+}
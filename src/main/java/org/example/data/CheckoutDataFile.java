@@ -0,0 +1,148 @@
+package org.example.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+/**
+ * Reads checkout data sets from a CSV or JSON lines file one line at a time, so files of any size stream in
+ * constant memory. Fields are named like the {@link CheckoutData} components: {@code customerName},
+ * {@code phoneNumber}, {@code refundBank}, {@code refundAccountHolder} and {@code refundAccountNumber}.
+ * <ul>
+ *   <li>{@code .csv}: a header line with the field names, then one record per line. Fields may be quoted with
+ *   {@code "}, but a record can't span lines.</li>
+ *   <li>{@code .jsonl}: one JSON object per line.</li>
+ * </ul>
+ * Blank lines are skipped but still counted, so record positions and partitions don't depend on them.
+ */
+public final class CheckoutDataFile {
+    private static final Json JSON = new Json();
+    private static final List<String> FIELDS =
+        List.of("customerName", "phoneNumber", "refundBank", "refundAccountHolder", "refundAccountNumber");
+
+    private CheckoutDataFile() {
+    }
+
+    /**
+     * @param file A {@code .csv} or {@code .jsonl} file.
+     * @param partition The share of the records to read; lines of other partitions are skipped unparsed.
+     * @return The partition's records, read as the stream is consumed. Close the stream to close the file.
+     */
+    public static Stream<DataRecord> read(Path file, DataPartition partition) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean csv = name.endsWith(".csv");
+        if (!csv && !name.endsWith(".jsonl")) {
+            throw new IllegalArgumentException("Unsupported data file " + file + "; use .csv or .jsonl");
+        }
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open data file " + file, e);
+        }
+        List<String> header = null;
+        if (csv) {
+            try {
+                // Spreadsheet exports often start with a byte order mark.
+                header = parseCsvLine(Objects.requireNonNullElse(reader.readLine(), "").replace("\uFEFF", ""));
+            } catch (IOException e) {
+                closeQuietly(reader);
+                throw new UncheckedIOException("Could not read the header of " + file, e);
+            }
+        }
+        List<String> columns = header;
+        AtomicLong position = new AtomicLong();
+        return reader.lines()
+            .onClose(() -> closeQuietly(reader))
+            .map(line -> new Line(position.getAndIncrement(), line))
+            .filter(line -> partition.owns(line.index) && !line.text.isBlank())
+            .map(line -> new DataRecord(line.index, csv ? fromCsv(file, columns, line) : fromJson(file, line)));
+    }
+
+    private static CheckoutData fromCsv(Path file, List<String> header, Line line) {
+        List<String> values = parseCsvLine(line.text);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            fields.put(header.get(i).trim(), values.get(i));
+        }
+        return toData(file, line, fields);
+    }
+
+    private static CheckoutData fromJson(Path file, Line line) {
+        Map<String, Object> object;
+        try {
+            object = JSON.toType(line.text, Json.MAP_TYPE);
+        } catch (JsonException e) {
+            throw new IllegalArgumentException(file + " record " + line.index + " is not a JSON object: " + e.getMessage(), e);
+        }
+        Map<String, String> fields = new HashMap<>();
+        object.forEach((key, value) -> fields.put(key, value == null ? null : String.valueOf(value)));
+        return toData(file, line, fields);
+    }
+
+    private static CheckoutData toData(Path file, Line line, Map<String, String> fields) {
+        for (String field : FIELDS) {
+            if (fields.get(field) == null) {
+                throw new IllegalArgumentException(file + " record " + line.index + " has no " + field);
+            }
+        }
+        return new CheckoutData(fields.get("customerName"), fields.get("phoneNumber"), fields.get("refundBank"),
+            fields.get("refundAccountHolder"), fields.get("refundAccountNumber"));
+    }
+
+    /**
+     * Splits one CSV line, honouring {@code "}-quoted fields and {@code ""} escapes.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            // Nothing left to read from it.
+        }
+    }
+
+    private record Line(long index, String text) {
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.data;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.example.stub.Bank;
+
+/**
+ * Generates valid checkout data sets from a seed: Korean names, mobile numbers, every refund bank and account
+ * numbers of 10 to 14 digits. Record {@code i} depends only on the seed and {@code i}, so any record can be
+ * generated on its own, without the ones before it, and the same seed always gives the same records.
+ */
+public final class CheckoutDataGenerator {
+    private static final List<String> SURNAMES = List.of(
+        "김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권", "황", "안", "송", "류", "홍");
+    private static final List<String> GIVEN_NAME_SYLLABLES = List.of(
+        "지", "훈", "민", "서", "현", "준", "수", "영", "하", "윤", "도", "연", "은", "우", "진", "성", "예", "주", "태", "원",
+        "호", "아", "재", "경", "소", "유", "혜", "정", "석", "빈");
+    private static final List<String> PHONE_PREFIXES = List.of("010", "010", "010", "010", "011", "016", "017", "019");
+    private static final List<Bank> BANKS = List.of(Bank.values());
+    /** Share of records whose refund account belongs to someone other than the customer. */
+    private static final double OTHER_HOLDER_SHARE = 0.3;
+
+    private final long seed;
+
+    /**
+     * @param seed Selects the sequence of records.
+     */
+    public CheckoutDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param index The position of the record in the sequence, from 0.
+     * @return The record at that position.
+     */
+    public CheckoutData get(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        String customerName = name(random);
+        String phoneNumber = pick(random, PHONE_PREFIXES) + "-" + digits(random, 4) + "-" + digits(random, 4);
+        String bank = pick(random, BANKS).name();
+        String refundBank = bank.charAt(0) + bank.substring(1).toLowerCase(Locale.ROOT);
+        String holder = random.nextDouble() < OTHER_HOLDER_SHARE ? name(random) : customerName;
+        String accountNumber = (1 + random.nextInt(9)) + digits(random, 9 + random.nextInt(5));
+        return new CheckoutData(customerName, phoneNumber, refundBank, holder, accountNumber);
+    }
+
+    /**
+     * @param count Number of records in the whole data set.
+     * @param partition The share of the records to generate.
+     * @return The partition's records, generated as the stream is consumed; the others are never generated.
+     */
+    public Stream<DataRecord> stream(long count, DataPartition partition) {
+        return LongStream.range(0, count)
+            .filter(partition::owns)
+            .mapToObj(index -> new DataRecord(index, get(index)));
+    }
+
+    private static String name(SplittableRandom random) {
+        StringBuilder name = new StringBuilder(pick(random, SURNAMES));
+        int syllables = random.nextInt(10) == 0 ? 1 : 2;
+        for (int i = 0; i < syllables; i++) {
+            name.append(pick(random, GIVEN_NAME_SYLLABLES));
+        }
+        return name.toString();
+    }
+
+    private static String digits(SplittableRandom random, int length) {
+        StringBuilder digits = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            digits.append((char) ('0' + random.nextInt(10)));
+        }
+        return digits.toString();
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.data;
+
+/**
+ * Texts the checkout shows to the customer. Browser and HTTP tests assert against the same constants,
+ * so a wording change on the checkout fails both paths the same way.
+ */
+public final class CheckoutMessages {
+    /** 휴대폰 번호 형식 오류. */
+    public static final String INVALID_PHONE = "휴대폰 번호를 정확히 입력해주세요.";
+    /** 환불계좌 번호 오류. */
+    public static final String INVALID_REFUND_ACCOUNT = "존재하지 않는 계좌이거나, 본인의 계좌가 아닙니다.";
+    /** 요청사항 저장 완료 토스트. */
+    public static final String REQUEST_SAVED = "요청사항을 저장했어요.";
+    /** 가상계좌 발급완료 안내 (신한은행 입금). */
+    public static final String PAYMENT_CONFIRMATION = "신한은행으로 100원 무통장입금";
+
+    private CheckoutMessages() {
+    }
+}
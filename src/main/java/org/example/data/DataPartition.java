@@ -0,0 +1,35 @@
+package org.example.data;
+
+/**
+ * The share of a data set one worker runs: record {@code i} belongs to worker {@code i % count}.
+ * Assignment only depends on the record's position, so workers agree on it without coordinating and every
+ * record runs exactly once across them.
+ * @param index This worker, from 0.
+ * @param count Number of workers.
+ */
+public record DataPartition(int index, int count) {
+    /** A single worker that owns every record. */
+    public static final DataPartition ALL = new DataPartition(0, 1);
+
+    public DataPartition {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid data partition " + index + "/" + count);
+        }
+    }
+
+    /**
+     * @return The partition of this shard, from {@code -Dshard.index} and {@code -Dshard.count}.
+     */
+    public static DataPartition ofShard() {
+        int count = Integer.getInteger("shard.count", 1);
+        return count <= 1 ? ALL : new DataPartition(Integer.getInteger("shard.index", 0), count);
+    }
+
+    /**
+     * @param recordIndex The position of a record in the data set, from 0.
+     * @return true if this worker runs the record.
+     */
+    public boolean owns(long recordIndex) {
+        return recordIndex % count == index;
+    }
+}
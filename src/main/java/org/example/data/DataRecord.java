@@ -0,0 +1,9 @@
+package org.example.data;
+
+/**
+ * One checkout data set and its position in the data set it came from.
+ * @param index The position, from 0; the line number for files, not counting the CSV header.
+ * @param data The data set.
+ */
+public record DataRecord(long index, CheckoutData data) {
+}
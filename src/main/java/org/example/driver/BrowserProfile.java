@@ -0,0 +1,103 @@
+package org.example.driver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+/**
+ * 테스트에서 사용하는 브라우저 구성입니다.
+ * Each profile knows how to launch a fresh Chrome session with its options.
+ * Mobile emulation settings come from the shared {@link DeviceProfiles} registry.
+ */
+public enum BrowserProfile {
+    DESKTOP(null),
+    MOBILE(DeviceProfiles.IPHONE_11_PRO_MAX);
+
+    /** Skip first-run UI and the background services a test browser never needs. */
+    private static final List<String> STARTUP_ARGUMENTS = List.of(
+        "--no-first-run", "--no-default-browser-check", "--disable-background-networking", "--disable-component-update",
+        "--disable-default-apps", "--disable-sync", "--disable-extensions", "--metrics-recording-only",
+        "--password-store=basic");
+    private static final List<String> DISABLED_FEATURES = List.of(
+        "Translate", "OptimizationHints", "MediaRouter", "AutofillServerCommunication");
+
+    private final DeviceProfile device;
+
+    BrowserProfile(DeviceProfile device) {
+        this.device = device;
+    }
+
+    /**
+     * @return The device this profile emulates, or null for a plain desktop window.
+     */
+    public DeviceProfile device() {
+        return device;
+    }
+
+    /**
+     * Applies this profile to the current window of a live session, replacing any other device emulation.
+     * Used for sessions not launched with {@link #options()}, such as those living in a {@link SharedBrowser}
+     * context, and to undo a temporary device switch.
+     * @param driver The session to apply the profile to.
+     */
+    public void emulate(ChromeDriver driver) {
+        if (device == null) {
+            DeviceProfile.clearEmulation(driver);
+            driver.manage().window().maximize();
+        } else {
+            device.emulate(driver);
+        }
+    }
+
+    /**
+     * Builds the Chrome options for this profile.
+     * Set {@code -Dbrowser.headless=true} to run without a visible window.
+     * @return The options used to launch a session.
+     */
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        if (device != null) {
+            device.configure(options);
+        }
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments(STARTUP_ARGUMENTS);
+        keepConsoleLogs(options);
+        List<String> disabledFeatures = new ArrayList<>(DISABLED_FEATURES);
+        if (Boolean.getBoolean("network.capture") || Boolean.getBoolean("vitals.collect")) {
+            // Keep cross-origin iframes (the payment iframe) in the page's process, so their requests show up
+            // in the page's CDP Network events and the web vitals script and binding reach them.
+            disabledFeatures.addAll(List.of("IsolateOrigins", "site-per-process"));
+        }
+        // Chrome only honours the last --disable-features, so all of them go into one.
+        options.addArguments("--disable-features=" + String.join(",", disabledFeatures));
+        if (Boolean.getBoolean("browser.headless")) {
+            options.addArguments("--headless=new");
+        }
+        return options;
+    }
+
+    /**
+     * Launches a new Chrome session for this profile, on a clone of the warmed profile template.
+     * @return A freshly started WebDriver.
+     */
+    public WebDriver newDriver() {
+        WebDriver driver = ChromeLauncher.launch(options());
+        driver.manage().window().maximize();
+        return driver;
+    }
+
+    /**
+     * Keeps console output available for failure artifacts.
+     */
+    static void keepConsoleLogs(ChromeOptions options) {
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+    }
+}
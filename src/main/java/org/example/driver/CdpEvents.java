@@ -0,0 +1,104 @@
+package org.example.driver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares one CDP connection per session between the features that listen to it (network capture, web vitals, ...).
+ * Selenium's DevTools can only drop all listeners at once, so features subscribe here instead and remove just
+ * their own handlers. Events and commands are addressed by name rather than through Selenium's versioned CDP
+ * bindings, so they keep working across Chrome upgrades.
+ */
+public final class CdpEvents {
+    private static final Logger logger = LoggerFactory.getLogger(CdpEvents.class);
+    private static final Map<WebDriver, CdpEvents> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private final Map<String, List<Consumer<Map<String, Object>>>> handlers = new ConcurrentHashMap<>();
+    private String windowHandle;
+
+    private CdpEvents(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Returns the CDP connection of a session, attached to the session's current window.
+     * @param driver A Chromium session.
+     * @return The shared connection.
+     */
+    public static CdpEvents of(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            throw new IllegalArgumentException("CDP needs a Chromium session, got " + driver.getClass().getName());
+        }
+        CdpEvents events = sessions.computeIfAbsent(driver, d -> new CdpEvents(((HasDevTools) d).getDevTools()));
+        events.attach(driver.getWindowHandle());
+        return events;
+    }
+
+    /**
+     * (Re)attaches to the window, e.g. after a pooled session was moved into a new browser context.
+     */
+    private synchronized void attach(String handle) {
+        if (!handle.equals(windowHandle)) {
+            devTools.createSession(handle);
+            windowHandle = handle;
+        }
+    }
+
+    /**
+     * Calls {@code handler} with the parameters of every {@code method} event until the returned subscription is closed.
+     * Handlers run on Selenium's CDP thread pool, one task per message, so they may run concurrently and a
+     * session's events may reach them in a different order than Chrome sent them.
+     * @param method The CDP event, e.g. {@code Network.loadingFinished}.
+     * @param handler Receives the event parameters.
+     * @return Closing it removes the handler.
+     */
+    @SuppressWarnings("unchecked")
+    public AutoCloseable subscribe(String method, Consumer<Map<String, Object>> handler) {
+        List<Consumer<Map<String, Object>>> listeners = handlers.computeIfAbsent(method, name -> {
+            List<Consumer<Map<String, Object>>> list = new CopyOnWriteArrayList<>();
+            devTools.addListener(new Event<>(name, input -> (Map<String, Object>) input.read(Json.MAP_TYPE)),
+                params -> dispatch(name, list, params));
+            return list;
+        });
+        listeners.add(handler);
+        return () -> listeners.remove(handler);
+    }
+
+    /**
+     * Sends a command to the attached window and waits for its result.
+     * @param method The CDP command, e.g. {@code Network.enable}.
+     * @param params Its parameters.
+     * @return The result object, empty for commands that return nothing.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        Map<String, Object> result = devTools.send(new Command<>(method, params,
+            input -> (Map<String, Object>) input.read(Json.MAP_TYPE)));
+        return result == null ? Map.of() : result;
+    }
+
+    private static void dispatch(String method, List<Consumer<Map<String, Object>>> listeners, Map<String, Object> params) {
+        for (Consumer<Map<String, Object>> listener : listeners) {
+            try {
+                listener.accept(params);
+            } catch (RuntimeException e) {
+                logger.warn("Handler for {} failed: {}", method, e.toString());
+            }
+        }
+    }
+}
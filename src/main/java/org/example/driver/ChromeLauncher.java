@@ -0,0 +1,56 @@
+package org.example.driver;
+
+import java.nio.file.Path;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts Chrome processes the fast way: with the cached {@link DriverBinary} and, unless
+ * {@code -Ddriver.profileTemplate=false}, on a clone of the warmed {@link ProfileTemplate}.
+ */
+final class ChromeLauncher {
+    private static final Logger logger = LoggerFactory.getLogger(ChromeLauncher.class);
+
+    private ChromeLauncher() {
+    }
+
+    /**
+     * Starts a session, resolving the driver again once if the cached one can't start the installed Chrome.
+     * @param options Freshly built options; a user-data-dir argument is added to them.
+     * @return The new session.
+     */
+    static ChromeDriver launch(ChromeOptions options) {
+        DriverBinary.ensureResolved();
+        try {
+            return start(options);
+        } catch (SessionNotCreatedException e) {
+            if (!DriverBinary.invalidate()) {
+                throw e;
+            }
+            DriverBinary.ensureResolved();
+            return start(options);
+        }
+    }
+
+    private static ChromeDriver start(ChromeOptions options) {
+        if (!ProfileTemplate.ENABLED) {
+            return new ChromeDriver(options);
+        }
+        Path userDataDir = ProfileTemplate.cloneForSession(options);
+        ChromeOptions cloned = new ChromeOptions().merge(options);
+        cloned.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+        try {
+            ChromeDriver driver = new ClonedProfileDriver(cloned, userDataDir);
+            ProfileTemplate.checkVersion(driver.getCapabilities().getBrowserVersion());
+            return driver;
+        } catch (RuntimeException e) {
+            logger.debug("Chrome did not start on profile clone {}", userDataDir);
+            ProfileTemplate.delete(userDataDir);
+            throw e;
+        }
+    }
+}
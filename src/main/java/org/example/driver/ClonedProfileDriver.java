@@ -0,0 +1,27 @@
+package org.example.driver;
+
+import java.nio.file.Path;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * A ChromeDriver session running on its own clone of the {@link ProfileTemplate}, deleted when the session quits.
+ */
+final class ClonedProfileDriver extends ChromeDriver {
+    private final Path userDataDir;
+
+    ClonedProfileDriver(ChromeOptions options, Path userDataDir) {
+        super(options);
+        this.userDataDir = userDataDir;
+    }
+
+    @Override
+    public void quit() {
+        try {
+            super.quit();
+        } finally {
+            ProfileTemplate.delete(userDataDir);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.driver;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A ChromeDriver session attached to a {@link SharedBrowser} and confined to one of its browser contexts.
+ * Other sessions' windows are visible in {@link #getWindowHandles()}, so code using this driver must stay on
+ * the window it was switched to.
+ */
+final class ContextDriver extends ChromeDriver {
+    private static final Logger logger = LoggerFactory.getLogger(ContextDriver.class);
+
+    private final SharedBrowser browser;
+    private final BrowserProfile profile;
+    private String contextId;
+
+    ContextDriver(SharedBrowser browser, BrowserProfile profile, ChromeOptions options) {
+        super(options);
+        this.browser = browser;
+        this.profile = profile;
+        try {
+            openContext();
+        } catch (RuntimeException e) {
+            super.quit();
+            throw e;
+        }
+    }
+
+    /**
+     * Disposes the current context and moves the session into a fresh one.
+     * @return false if the session could not be moved and should be replaced.
+     */
+    boolean renewContext() {
+        try {
+            disposeContext();
+            openContext();
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Could not renew browser context", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void quit() {
+        try {
+            disposeContext();
+        } catch (WebDriverException e) {
+            logger.debug("Could not dispose browser context {}", contextId, e);
+        } finally {
+            super.quit();
+        }
+    }
+
+    private void openContext() {
+        SharedBrowser.Context context = browser.createContext();
+        contextId = context.id();
+        // ChromeDriver window handles are target ids, possibly with a prefix.
+        String handle = getWindowHandles().stream()
+            .filter(h -> h.endsWith(context.targetId()))
+            .findFirst()
+            .orElse(context.targetId());
+        switchTo().window(handle);
+        profile.emulate(this);
+    }
+
+    private void disposeContext() {
+        if (contextId != null) {
+            String id = contextId;
+            contextId = null;
+            browser.disposeContext(id);
+        }
+    }
+}
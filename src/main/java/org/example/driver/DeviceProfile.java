@@ -0,0 +1,98 @@
+package org.example.driver;
+
+import java.util.Map;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * An emulated device: viewport, pixel ratio and user agent.
+ * Profiles are immutable and build their ChromeDriver and CDP arguments once, so they can be shared by
+ * every test and thread. Registered devices are in {@link DeviceProfiles}.
+ */
+public final class DeviceProfile {
+    private final String name;
+    private final int width;
+    private final int height;
+    private final double pixelRatio;
+    private final String userAgent;
+    private final Map<String, Object> mobileEmulation;
+    private final Map<String, Object> metricsOverride;
+    private final Map<String, Object> userAgentOverride;
+
+    /**
+     * @param name Name used in test names, reports and {@code -Ddevices}.
+     * @param width Viewport width in CSS pixels.
+     * @param height Viewport height in CSS pixels.
+     * @param pixelRatio Device pixel ratio.
+     * @param userAgent User agent the device reports.
+     */
+    public DeviceProfile(String name, int width, int height, double pixelRatio, String userAgent) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.pixelRatio = pixelRatio;
+        this.userAgent = userAgent;
+        this.mobileEmulation = Map.of(
+            "deviceMetrics", Map.of("width", width, "height", height, "pixelRatio", pixelRatio),
+            "userAgent", userAgent);
+        this.metricsOverride = Map.of("width", width, "height", height, "deviceScaleFactor", pixelRatio, "mobile", true);
+        this.userAgentOverride = Map.of("userAgent", userAgent);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public double pixelRatio() {
+        return pixelRatio;
+    }
+
+    public String userAgent() {
+        return userAgent;
+    }
+
+    /**
+     * Makes a session launched with these options start out as this device.
+     * @param options The options to add ChromeDriver's mobile emulation to.
+     */
+    public void configure(ChromeOptions options) {
+        options.setExperimentalOption("mobileEmulation", mobileEmulation);
+    }
+
+    /**
+     * Switches the current window of a live session to this device through CDP {@code Emulation} commands,
+     * without relaunching the browser. Takes effect from the next navigation.
+     * @param driver The session to emulate the device in.
+     */
+    public void emulate(ChromeDriver driver) {
+        driver.executeCdpCommand("Emulation.setDeviceMetricsOverride", metricsOverride);
+        driver.executeCdpCommand("Emulation.setUserAgentOverride", userAgentOverride);
+        driver.executeCdpCommand("Emulation.setTouchEmulationEnabled", Map.of("enabled", true, "maxTouchPoints", 5));
+    }
+
+    /**
+     * Removes any device emulation from the current window, restoring the browser's own viewport and user agent.
+     * Emulation set up through {@link #configure(ChromeOptions)} is removed as well.
+     * @param driver The session to clear.
+     */
+    public static void clearEmulation(ChromeDriver driver) {
+        driver.executeCdpCommand("Emulation.clearDeviceMetricsOverride", Map.of());
+        Object browserAgent = driver.executeCdpCommand("Browser.getVersion", Map.of()).get("userAgent");
+        driver.executeCdpCommand("Emulation.setUserAgentOverride", Map.of("userAgent", browserAgent));
+        driver.executeCdpCommand("Emulation.setTouchEmulationEnabled", Map.of("enabled", false));
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + width + "x" + height + " @" + pixelRatio + "x)";
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.driver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the devices checkout tests are emulated on.
+ * {@code -Ddevices=iphone-se,pixel-7} narrows {@link #selected()} to the named devices.
+ */
+public final class DeviceProfiles {
+    public static final DeviceProfile IPHONE_11_PRO_MAX = new DeviceProfile("iphone-11-pro-max", 414, 896, 3.0,
+        "Mozilla/5.0 (iPhone; CPU iPhone OS 13_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/13.1.2 Mobile/15E148 Safari/604.1");
+    public static final DeviceProfile IPHONE_SE = new DeviceProfile("iphone-se", 375, 667, 2.0,
+        "Mozilla/5.0 (iPhone; CPU iPhone OS 15_0 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/15.0 Mobile/15E148 Safari/604.1");
+    public static final DeviceProfile PIXEL_7 = new DeviceProfile("pixel-7", 412, 915, 2.625,
+        "Mozilla/5.0 (Linux; Android 13; Pixel 7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/116.0.0.0 Mobile Safari/537.36");
+    public static final DeviceProfile GALAXY_S20_ULTRA = new DeviceProfile("galaxy-s20-ultra", 412, 915, 3.5,
+        "Mozilla/5.0 (Linux; Android 10; SM-G988B) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/83.0.4103.106 Mobile Safari/537.36");
+
+    private static final Map<String, DeviceProfile> BY_NAME = new LinkedHashMap<>();
+
+    static {
+        for (DeviceProfile device : List.of(IPHONE_11_PRO_MAX, IPHONE_SE, PIXEL_7, GALAXY_S20_ULTRA)) {
+            BY_NAME.put(device.name(), device);
+        }
+    }
+
+    private DeviceProfiles() {
+    }
+
+    /**
+     * @param name A registered device name.
+     * @return The device.
+     * @throws IllegalArgumentException if no device has that name.
+     */
+    public static DeviceProfile byName(String name) {
+        DeviceProfile device = BY_NAME.get(name.trim());
+        if (device == null) {
+            throw new IllegalArgumentException("Unknown device '" + name + "', expected one of " + BY_NAME.keySet());
+        }
+        return device;
+    }
+
+    /**
+     * @return Every registered device, in registration order.
+     */
+    public static List<DeviceProfile> all() {
+        return List.copyOf(BY_NAME.values());
+    }
+
+    /**
+     * @return The devices named by {@code -Ddevices}, or every registered device if it is not set.
+     */
+    public static List<DeviceProfile> selected() {
+        String names = System.getProperty("devices", "");
+        if (names.isBlank()) {
+            return all();
+        }
+        List<DeviceProfile> devices = new ArrayList<>();
+        for (String name : names.split(",")) {
+            devices.add(byName(name));
+        }
+        return devices;
+    }
+}
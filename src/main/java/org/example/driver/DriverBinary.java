@@ -0,0 +1,126 @@
+package org.example.driver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Resolves the chromedriver binary once and remembers it, so later runs start without any network access.
+ * The first run downloads a driver matching the installed Chrome through WebDriverManager into
+ * {@code -Ddriver.cacheDir} (default {@code .cache/webdriver}) and records its path. Every later run reads the
+ * record and points {@code webdriver.chrome.driver} at the binary, which also keeps Selenium Manager from being
+ * run for each session.
+ * <p>
+ * A driver that no longer matches Chrome is detected when a session fails to start (see
+ * {@link #invalidate()}). {@code -Ddriver.binaryCache=false}, or setting {@code webdriver.chrome.driver}
+ * yourself, leaves resolution to Selenium.
+ */
+final class DriverBinary {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinary.class);
+    static final Path CACHE_DIR = Paths.get(System.getProperty("driver.cacheDir", ".cache/webdriver"));
+    private static final Path RECORD = CACHE_DIR.resolve("chromedriver.properties");
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("driver.binaryCache", "true"));
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+
+    private static boolean resolved;
+    private static boolean fromRecord;
+
+    private DriverBinary() {
+    }
+
+    /**
+     * Points {@code webdriver.chrome.driver} at the cached binary, resolving it first if there is none.
+     * Does nothing after the first call, or when the property was set by the user.
+     */
+    static synchronized void ensureResolved() {
+        if (resolved || !ENABLED) {
+            return;
+        }
+        if (System.getProperty(DRIVER_PROPERTY) != null) {
+            resolved = true;
+            return;
+        }
+        try {
+            Files.createDirectories(CACHE_DIR);
+            // Parallel forks share the cache; only one of them resolves. Closing the channel releases the lock.
+            try (FileChannel channel = FileChannel.open(CACHE_DIR.resolve("chromedriver.lock"),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.lock();
+                Path recorded = readRecord();
+                fromRecord = recorded != null;
+                Path binary = fromRecord ? recorded : download();
+                System.setProperty(DRIVER_PROPERTY, binary.toString());
+                resolved = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not resolve chromedriver in " + CACHE_DIR, e);
+        }
+    }
+
+    /**
+     * Forgets the recorded binary after a session failed to start with it, so the next
+     * {@link #ensureResolved()} resolves again.
+     * @return true if the binary came from the record, i.e. resolving again may help.
+     */
+    static synchronized boolean invalidate() {
+        if (!resolved || !fromRecord) {
+            return false;
+        }
+        logger.warn("Cached chromedriver {} failed to start a session; resolving it again", System.getProperty(DRIVER_PROPERTY));
+        System.clearProperty(DRIVER_PROPERTY);
+        try {
+            Files.deleteIfExists(RECORD);
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", RECORD, e.toString());
+        }
+        resolved = false;
+        fromRecord = false;
+        return true;
+    }
+
+    private static Path readRecord() throws IOException {
+        if (!Files.isRegularFile(RECORD)) {
+            return null;
+        }
+        Properties record = new Properties();
+        try (Reader in = Files.newBufferedReader(RECORD, StandardCharsets.UTF_8)) {
+            record.load(in);
+        }
+        String path = record.getProperty("path");
+        if (path == null || !Files.isExecutable(Paths.get(path))) {
+            return null;
+        }
+        logger.debug("Using cached chromedriver {} ({})", path, record.getProperty("version"));
+        return Paths.get(path);
+    }
+
+    private static Path download() throws IOException {
+        long start = System.nanoTime();
+        WebDriverManager manager = WebDriverManager.chromedriver().cachePath(CACHE_DIR.toAbsolutePath().toString());
+        manager.setup();
+        Path binary = Paths.get(manager.getDownloadedDriverPath()).toAbsolutePath();
+        Properties record = new Properties();
+        record.setProperty("path", binary.toString());
+        record.setProperty("version", String.valueOf(manager.getDownloadedDriverVersion()));
+        record.setProperty("resolvedAt", Instant.now().toString());
+        try (Writer out = Files.newBufferedWriter(RECORD, StandardCharsets.UTF_8)) {
+            record.store(out, "chromedriver resolved by WebDriverManager");
+        }
+        logger.info("Resolved chromedriver {} in {} ms", binary, (System.nanoTime() - start) / 1_000_000);
+        return binary;
+    }
+}
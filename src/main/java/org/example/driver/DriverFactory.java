@@ -0,0 +1,81 @@
+package org.example.driver;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Hands out pooled WebDriver sessions per {@link BrowserProfile}.
+ * Pool size and reuse limit come from {@code -Ddriver.pool.size} and {@code -Ddriver.pool.maxReuse};
+ * the pool size defaults to one session per core. Pools are safe to use from parallel test threads.
+ * <p>
+ * With {@code -Ddriver.isolation=context}, every profile's sessions live in one {@link SharedBrowser}
+ * and each lease gets a fresh browser context instead of a scrubbed Chrome process.
+ */
+public final class DriverFactory {
+    static final int POOL_SIZE = Integer.getInteger("driver.pool.size", Runtime.getRuntime().availableProcessors());
+    public static final int MAX_REUSE = Integer.getInteger("driver.pool.maxReuse", 25);
+    static final boolean CONTEXT_ISOLATION = "context".equalsIgnoreCase(System.getProperty("driver.isolation", "process"));
+
+    private static final Map<BrowserProfile, DriverPool> pools = new EnumMap<>(BrowserProfile.class);
+    private static SharedBrowser sharedBrowser;
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Returns the shared pool for the given profile, creating it on first use.
+     * @param profile The browser profile.
+     * @return The pool for that profile.
+     */
+    public static synchronized DriverPool pool(BrowserProfile profile) {
+        return pools.computeIfAbsent(profile,
+            p -> new DriverPool(p.name(), launcher(p), POOL_SIZE, MAX_REUSE));
+    }
+
+    private static Supplier<WebDriver> launcher(BrowserProfile profile) {
+        if (CONTEXT_ISOLATION) {
+            return () -> sharedBrowser().openSession(profile);
+        }
+        return profile::newDriver;
+    }
+
+    private static synchronized SharedBrowser sharedBrowser() {
+        if (sharedBrowser == null) {
+            sharedBrowser = SharedBrowser.launch();
+        }
+        return sharedBrowser;
+    }
+
+    /**
+     * Takes a warm driver for the given profile.
+     * @param profile The browser profile.
+     * @return A clean WebDriver session.
+     */
+    public static WebDriver acquire(BrowserProfile profile) {
+        return pool(profile).acquire();
+    }
+
+    /**
+     * Returns a driver to the pool of the given profile.
+     * @param profile The profile the driver was acquired for.
+     * @param driver The driver to return.
+     */
+    public static void release(BrowserProfile profile, WebDriver driver) {
+        pool(profile).release(driver);
+    }
+
+    /**
+     * Quits all pooled sessions and the shared browser, if one was started.
+     */
+    public static synchronized void shutdown() {
+        pools.values().forEach(DriverPool::close);
+        pools.clear();
+        if (sharedBrowser != null) {
+            sharedBrowser.close();
+            sharedBrowser = null;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package org.example.driver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.example.jfr.BrowserStartEvent;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps warm browser sessions so tests don't pay Chrome startup every time.
+ * A session is reset between leases and replaced once it crashes or hits the reuse limit.
+ */
+public class DriverPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final String name;
+    private final Supplier<WebDriver> launcher;
+    private final int maxReuse;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    /** Launch-to-ready time of every session started, in start order. */
+    private final List<Long> startMillis = new ArrayList<>();
+
+    /**
+     * @param name Name used in log lines.
+     * @param launcher Starts a new browser session.
+     * @param maxSize Maximum number of live sessions.
+     * @param maxReuse Number of leases after which a session is recycled.
+     */
+    public DriverPool(String name, Supplier<WebDriver> launcher, int maxSize, int maxReuse) {
+        if (maxSize < 1 || maxReuse < 1) {
+            throw new IllegalArgumentException("Pool size and max reuse must be positive");
+        }
+        this.name = name;
+        this.launcher = launcher;
+        this.maxReuse = maxReuse;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Takes a session from the pool, starting a new one if none is idle.
+     * Blocks while all sessions are leased.
+     * @return A clean WebDriver session.
+     */
+    public WebDriver acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a driver from pool " + name, e);
+        }
+        try {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (isAlive(session.driver)) {
+                    break;
+                }
+                logger.warn("[{}] Discarding crashed session", name);
+                quitQuietly(session.driver);
+            }
+            if (session == null) {
+                session = new PooledSession(launch());
+                watchOrigins(session);
+            }
+            session.uses++;
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a session and records how long it took until it accepted commands.
+     */
+    private WebDriver launch() {
+        BrowserStartEvent event = BrowserStartEvent.start();
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = launcher.get();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            synchronized (startMillis) {
+                startMillis.add(millis);
+            }
+            event.complete(name, null);
+            logger.info("[{}] Started new browser session in {} ms", name, millis);
+            return driver;
+        } catch (RuntimeException e) {
+            event.complete(name, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a session to the pool after resetting its state.
+     * @param driver The driver obtained from {@link #acquire()}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("[{}] Ignoring release of a driver that is not leased", name);
+            return;
+        }
+        try {
+            if (session.uses >= maxReuse) {
+                logger.info("[{}] Recycling session after {} uses", name, session.uses);
+                quitQuietly(driver);
+            } else if (reset(session)) {
+                idle.offerFirst(session);
+            } else {
+                logger.warn("[{}] Session could not be reset, replacing it", name);
+                quitQuietly(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are quit when they come back.
+     */
+    @Override
+    public void close() {
+        logStartupTimes();
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            quitQuietly(session.driver);
+        }
+        for (WebDriver driver : leased.keySet()) {
+            quitQuietly(driver);
+        }
+        leased.clear();
+    }
+
+    /**
+     * Clears cookies, web storage, extra windows and frame focus.
+     * A session living in a {@link SharedBrowser} context gets a fresh context instead.
+     * <p>
+     * In Chrome, the storage of every origin the session visited is cleared through CDP, so state left behind
+     * by a cross-origin iframe doesn't reach the next test. Session storage can't be cleared per origin, so the
+     * session then continues in a new tab and the old tabs are closed.
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        if (driver instanceof ContextDriver) {
+            return ((ContextDriver) driver).renewContext();
+        }
+        try {
+            driver.switchTo().defaultContent();
+            if (driver instanceof ChromeDriver chrome) {
+                Set<String> origins = new HashSet<>(session.origins);
+                origins.addAll(openOrigins(chrome));
+                session.origins.clear();
+                for (String origin : origins) {
+                    chrome.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+                }
+                chrome.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                Set<String> oldWindows = driver.getWindowHandles();
+                driver.switchTo().newWindow(WindowType.TAB);
+                String window = driver.getWindowHandle();
+                for (String handle : oldWindows) {
+                    driver.switchTo().window(handle).close();
+                }
+                driver.switchTo().window(window);
+                watchOrigins(session);
+                return true;
+            }
+            String mainWindow = driver.getWindowHandles().iterator().next();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(mainWindow)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(mainWindow);
+            driver.switchTo().defaultContent();
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("[{}] Reset failed", name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Records the origin of every frame the session navigates, iframes included, until it is reset.
+     * Without DevTools, only the origins still open at reset time are cleared.
+     */
+    private void watchOrigins(PooledSession session) {
+        if (!(session.driver instanceof ChromeDriver) || session.driver instanceof ContextDriver) {
+            return;
+        }
+        try {
+            CdpEvents cdp = CdpEvents.of(session.driver);
+            if (session.originWatch == null) {
+                session.originWatch = cdp.subscribe("Page.frameNavigated", params -> {
+                    Object origin = ((Map<?, ?>) params.get("frame")).get("securityOrigin");
+                    if (origin instanceof String value && value.startsWith("http")) {
+                        session.origins.add(value);
+                    }
+                });
+            }
+            cdp.send("Page.enable", Map.of());
+        } catch (RuntimeException e) {
+            logger.debug("[{}] Not watching visited origins: {}", name, e.toString());
+        }
+    }
+
+    /**
+     * @return The origins of the frames open in the session's windows and of their navigation history.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> openOrigins(ChromeDriver driver) {
+        Set<String> origins = new HashSet<>();
+        Map<String, Object> history = driver.executeCdpCommand("Page.getNavigationHistory", Map.of());
+        for (Map<String, Object> entry : (List<Map<String, Object>>) history.getOrDefault("entries", List.of())) {
+            addOrigin(origins, (String) entry.get("url"));
+        }
+        Map<String, Object> tree = driver.executeCdpCommand("Page.getFrameTree", Map.of());
+        addFrameOrigins(origins, (Map<String, Object>) tree.get("frameTree"));
+        return origins;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addFrameOrigins(Set<String> origins, Map<String, Object> node) {
+        if (node == null) {
+            return;
+        }
+        Map<String, Object> frame = (Map<String, Object>) node.get("frame");
+        addOrigin(origins, (String) frame.get("securityOrigin"));
+        for (Map<String, Object> child : (List<Map<String, Object>>) node.getOrDefault("childFrames", List.of())) {
+            addFrameOrigins(origins, child);
+        }
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        if (url == null || !url.startsWith("http")) {
+            return;
+        }
+        URI uri = URI.create(url);
+        origins.add(uri.getScheme() + "://" + uri.getRawAuthority());
+    }
+
+    private void logStartupTimes() {
+        List<Long> millis;
+        synchronized (startMillis) {
+            millis = new ArrayList<>(startMillis);
+        }
+        if (millis.isEmpty()) {
+            return;
+        }
+        // The first start also resolves the driver and may build the profile template.
+        long first = millis.get(0);
+        millis.sort(null);
+        long total = millis.stream().mapToLong(Long::longValue).sum();
+        logger.info("[{}] Browser ready time over {} sessions: first {} ms, median {} ms, mean {} ms, max {} ms",
+            name, millis.size(), first, millis.get(millis.size() / 2), total / millis.size(), millis.get(millis.size() - 1));
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("[{}] Quit failed", name, e);
+        }
+    }
+
+    private static final class PooledSession {
+        final WebDriver driver;
+        /** Origins visited since the last reset. */
+        final Set<String> origins = ConcurrentHashMap.newKeySet();
+        AutoCloseable originWatch;
+        int uses;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
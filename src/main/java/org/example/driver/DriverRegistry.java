@@ -0,0 +1,63 @@
+package org.example.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Confines pooled WebDriver sessions to the thread that runs a test.
+ * A driver bound here is never visible to other threads, so tests running in parallel can't share browser state.
+ */
+public final class DriverRegistry {
+    private static final ThreadLocal<Lease> current = new ThreadLocal<>();
+
+    private DriverRegistry() {
+    }
+
+    /**
+     * Leases a driver for the current thread, unless one is already bound.
+     * @param profile The browser profile to lease.
+     * @return The driver bound to the current thread.
+     */
+    public static WebDriver bind(BrowserProfile profile) {
+        Lease lease = current.get();
+        if (lease == null) {
+            lease = new Lease(profile, DriverFactory.acquire(profile));
+            current.set(lease);
+        } else if (lease.profile != profile) {
+            throw new IllegalStateException("Thread already holds a " + lease.profile + " driver, cannot bind " + profile);
+        }
+        return lease.driver;
+    }
+
+    /**
+     * @return The driver bound to the current thread.
+     * @throws IllegalStateException if no driver is bound.
+     */
+    public static WebDriver current() {
+        Lease lease = current.get();
+        if (lease == null) {
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName());
+        }
+        return lease.driver;
+    }
+
+    /**
+     * Returns the driver bound to the current thread to its pool.
+     */
+    public static void release() {
+        Lease lease = current.get();
+        if (lease != null) {
+            current.remove();
+            DriverFactory.release(lease.profile, lease.driver);
+        }
+    }
+
+    private static final class Lease {
+        final BrowserProfile profile;
+        final WebDriver driver;
+
+        Lease(BrowserProfile profile, WebDriver driver) {
+            this.profile = profile;
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.driver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Chrome user-data-dir that has been through first start once, cloned for every new session.
+ * A fresh profile makes Chrome create its databases, unpack components and compile shaders before the first
+ * page; a clone of a warmed profile skips that. The template is built on first use by starting Chrome once,
+ * optionally loading {@code -Ddriver.profileTemplate.warmUrl} to prime the HTTP cache, and quitting it. It is
+ * kept between runs and rebuilt when Chrome's version changes.
+ * <p>
+ * Each build goes to its own {@code <driver.cacheDir>/chrome-profile-template-<time>} directory, which is never
+ * changed afterwards; {@code chrome-profile-template.properties} names the current one. Only finding or building
+ * the template is serialized, across threads and forks; sessions copy it in parallel. A rebuild keeps the
+ * template it replaces, which other sessions may still be copying, and deletes the ones before it.
+ * <p>
+ * Clones are copy-on-write where the file system supports it ({@code cp --reflink=auto} on Linux,
+ * {@code cp -c} on macOS) and plain copies elsewhere. Each session's clone is deleted when it quits.
+ */
+final class ProfileTemplate {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTemplate.class);
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("driver.profileTemplate", "true"));
+    private static final String VERSION_PREFIX = "chrome-profile-template-";
+    /** Names the current template directory and what it was built with. */
+    private static final Path MARKER = DriverBinary.CACHE_DIR.resolve("chrome-profile-template.properties");
+    private static final String WARM_URL = System.getProperty("driver.profileTemplate.warmUrl");
+    /** Files that tie a user-data-dir to the Chrome process that had it open. */
+    private static final List<String> LOCK_FILES = List.of("SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile");
+    private static final String OS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+
+    /** The template this JVM clones, or null until it has been found or built. */
+    private static Path current;
+    /** A Chrome version a session reported the template to be outdated for. */
+    private static String outdatedVersion;
+
+    private ProfileTemplate() {
+    }
+
+    /**
+     * Clones the template, building it first if needed.
+     * @param options The options the session will be started with; used to build the template.
+     * @return A new user-data-dir owned by the caller.
+     */
+    static Path cloneForSession(ChromeOptions options) {
+        Path template = ensureBuilt(options);
+        try {
+            Path clone = Files.createTempDirectory("chrome-session-");
+            copy(template, clone);
+            return clone;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clone Chrome profile template " + template, e);
+        }
+    }
+
+    /**
+     * Schedules a rebuild when a session reports a different Chrome version than the template was built with.
+     * @param browserVersion The version from the session's capabilities.
+     */
+    static synchronized void checkVersion(String browserVersion) {
+        String built = readMarker().getProperty("browserVersion");
+        if (built != null && browserVersion != null && !built.equals(browserVersion)) {
+            logger.info("Chrome profile template was built with Chrome {}, now {}; rebuilding it on next start", built, browserVersion);
+            outdatedVersion = built;
+            current = null;
+        }
+    }
+
+    /**
+     * Deletes a session's clone. Errors are logged and ignored; the clone lives in the temp directory.
+     */
+    static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            logger.debug("Could not delete Chrome profile {}: {}", directory, e.toString());
+        }
+    }
+
+    /**
+     * @return The current template directory, built first if there is none or it is outdated.
+     */
+    private static synchronized Path ensureBuilt(ChromeOptions options) {
+        if (current != null) {
+            return current;
+        }
+        try {
+            Files.createDirectories(DriverBinary.CACHE_DIR);
+            // Parallel forks share the template; only one of them builds it. Closing the channel releases the lock.
+            try (FileChannel channel = FileChannel.open(DriverBinary.CACHE_DIR.resolve("chrome-profile-template.lock"),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.lock();
+                Properties marker = readMarker();
+                String name = marker.getProperty("directory");
+                Path template = name == null ? null : DriverBinary.CACHE_DIR.resolve(name);
+                if (template == null || !Files.isDirectory(template)
+                        || marker.getProperty("browserVersion", "").equals(outdatedVersion)) {
+                    template = build(options, template);
+                }
+                current = template;
+                return template;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not build Chrome profile template in " + DriverBinary.CACHE_DIR, e);
+        }
+    }
+
+    /**
+     * Builds a new template and makes it the current one. Called with the lock file held.
+     * @param replaced The template being replaced, kept for sessions still copying it; null if none.
+     * @return The new template directory.
+     */
+    private static Path build(ChromeOptions options, Path replaced) throws IOException {
+        long start = System.nanoTime();
+        Path building = Files.createTempDirectory(DriverBinary.CACHE_DIR, "chrome-profile-building-");
+        ChromeOptions buildOptions = new ChromeOptions().merge(options);
+        buildOptions.addArguments("--user-data-dir=" + building.toAbsolutePath());
+        String browserVersion;
+        ChromeDriver driver = new ChromeDriver(buildOptions);
+        try {
+            browserVersion = driver.getCapabilities().getBrowserVersion();
+            if (WARM_URL != null && !WARM_URL.isBlank()) {
+                driver.get(WARM_URL);
+            }
+            driver.get("about:blank");
+        } finally {
+            try {
+                driver.quit();
+            } catch (WebDriverException e) {
+                logger.debug("Quit of template browser failed", e);
+            }
+        }
+        for (String lockFile : LOCK_FILES) {
+            Files.deleteIfExists(building.resolve(lockFile));
+        }
+        Instant builtAt = Instant.now();
+        Path template = DriverBinary.CACHE_DIR.resolve(VERSION_PREFIX + builtAt.toEpochMilli());
+        Files.move(building, template, StandardCopyOption.ATOMIC_MOVE);
+
+        Properties marker = new Properties();
+        marker.setProperty("directory", template.getFileName().toString());
+        marker.setProperty("browserVersion", String.valueOf(browserVersion));
+        marker.setProperty("warmUrl", WARM_URL == null ? "" : WARM_URL);
+        marker.setProperty("builtAt", builtAt.toString());
+        Path markerTemp = Files.createTempFile(DriverBinary.CACHE_DIR, MARKER.getFileName().toString(), ".tmp");
+        try (Writer out = Files.newBufferedWriter(markerTemp, StandardCharsets.UTF_8)) {
+            marker.store(out, "Chrome profile template");
+        }
+        Files.move(markerTemp, MARKER, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Built Chrome profile template for Chrome {} in {} ms", browserVersion, (System.nanoTime() - start) / 1_000_000);
+
+        try (Stream<Path> entries = Files.list(DriverBinary.CACHE_DIR)) {
+            entries.filter(entry -> entry.getFileName().toString().startsWith(VERSION_PREFIX))
+                .filter(entry -> !entry.equals(template) && !entry.equals(replaced))
+                .forEach(ProfileTemplate::delete);
+        }
+        return template;
+    }
+
+    private static Properties readMarker() {
+        Properties marker = new Properties();
+        if (Files.isRegularFile(MARKER)) {
+            try (Reader in = Files.newBufferedReader(MARKER, StandardCharsets.UTF_8)) {
+                marker.load(in);
+            } catch (IOException e) {
+                logger.debug("Could not read {}: {}", MARKER, e.toString());
+            }
+        }
+        return marker;
+    }
+
+    /**
+     * Copies the contents of one directory into another, sharing file blocks if the file system can.
+     */
+    private static void copy(Path from, Path to) throws IOException {
+        List<String> command = OS.contains("linux") ? List.of("cp", "-R", "--reflink=auto", from + "/.", to.toString())
+            : OS.contains("mac") ? List.of("cp", "-c", "-R", from + "/.", to.toString())
+            : null;
+        if (command != null) {
+            try {
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                    return;
+                }
+                logger.debug("cp could not clone {}: {}", from, output.strip());
+            } catch (IOException e) {
+                logger.debug("cp is not available: {}", e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while cloning " + from, e);
+            }
+        }
+        Files.walkFileTree(from, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(to.resolve(from.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, to.resolve(from.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
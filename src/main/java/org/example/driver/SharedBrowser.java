@@ -0,0 +1,99 @@
+package org.example.driver;
+
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One Chrome process hosting many isolated browser contexts, the CDP equivalent of separate incognito profiles.
+ * Each context has its own cookies, storage and cache, and creating or disposing one takes milliseconds
+ * instead of a Chrome launch.
+ * <p>
+ * The browser is started by a host session that only issues {@code Target} commands. Tests get their own
+ * WebDriver sessions attached to the same browser through its debugger address, each switched into a context
+ * of its own (see {@link #openSession(BrowserProfile)}). Desktop and mobile sessions can share the browser:
+ * the profile's emulation is applied to each context's window.
+ */
+public final class SharedBrowser implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SharedBrowser.class);
+
+    private final ChromeDriver host;
+    private final String debuggerAddress;
+
+    private SharedBrowser(ChromeDriver host) {
+        this.host = host;
+        Map<?, ?> chromeOptions = (Map<?, ?>) host.getCapabilities().getCapability("goog:chromeOptions");
+        this.debuggerAddress = chromeOptions == null ? null : (String) chromeOptions.get("debuggerAddress");
+        if (debuggerAddress == null) {
+            host.quit();
+            throw new IllegalStateException("Chrome did not report a debugger address");
+        }
+    }
+
+    /**
+     * Starts the shared Chrome process with the desktop options.
+     * @return The running browser.
+     */
+    public static SharedBrowser launch() {
+        SharedBrowser browser = new SharedBrowser(ChromeLauncher.launch(BrowserProfile.DESKTOP.options()));
+        logger.info("Started shared browser at {}", browser.debuggerAddress);
+        return browser;
+    }
+
+    /**
+     * Starts a WebDriver session attached to this browser and switched into a fresh browser context.
+     * Quitting the session disposes its context but leaves the browser running.
+     * @param profile The profile to emulate in the context.
+     * @return A session confined to its own context.
+     */
+    public WebDriver openSession(BrowserProfile profile) {
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        BrowserProfile.keepConsoleLogs(options);
+        return new ContextDriver(this, profile, options);
+    }
+
+    /**
+     * Creates a browser context with one blank page in it.
+     */
+    synchronized Context createContext() {
+        long start = System.nanoTime();
+        String contextId = (String) host.executeCdpCommand("Target.createBrowserContext", Map.of()).get("browserContextId");
+        try {
+            String targetId = (String) host.executeCdpCommand("Target.createTarget",
+                Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+            logger.debug("Created browser context {} in {} ms", contextId, (System.nanoTime() - start) / 1_000_000);
+            return new Context(contextId, targetId);
+        } catch (WebDriverException e) {
+            disposeContext(contextId);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every page of the context and drops its cookies and storage.
+     */
+    synchronized void disposeContext(String contextId) {
+        host.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+    }
+
+    /**
+     * Quits the browser. Sessions still attached to it stop working.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            host.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Quit of shared browser failed", e);
+        }
+    }
+
+    record Context(String id, String targetId) {
+    }
+}
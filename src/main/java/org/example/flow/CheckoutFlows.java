@@ -0,0 +1,130 @@
+package org.example.flow;
+
+import java.util.List;
+import java.util.Map;
+
+import org.example.data.CheckoutData;
+import org.example.http.CheckoutHttpClient;
+import org.example.pages.Utilities;
+import org.example.pages.Utilities.Checkpoint;
+
+/**
+ * The virtual-account checkout expressed as named steps, the same sequence the E2E tests walk through.
+ */
+public final class CheckoutFlows {
+    /** Browser steps that end right after a page navigation, and the checkpoint they reach. */
+    private static final Map<String, Checkpoint> CHECKPOINTS = Map.of(
+        "initialSteps", Checkpoint.INITIAL_STEPS,
+        "virtualAccount", Checkpoint.VIRTUAL_ACCOUNT_SELECTED,
+        "refundBank", Checkpoint.REFUND_BANK_SELECTED);
+
+    private CheckoutFlows() {
+    }
+
+    /**
+     * Desktop flow, where bank selection and confirmation happen inside the payment iframe.
+     * @param paymentUrl The checkout entry URL.
+     * @param data The data to enter.
+     * @return The steps in order.
+     */
+    public static List<FlowStep<Utilities>> virtualAccountDesktop(String paymentUrl, CheckoutData data) {
+        return List.of(
+            new FlowStep<>("navigate", paymentUrl, page -> page.navigateToPaymentPage(paymentUrl)),
+            new FlowStep<>("initialSteps", page -> page.completeInitialSteps()),
+            new FlowStep<>("customerInformation", customerInput(data), page -> page.fillCustomerInformation(data.customerName(), data.phoneNumber())),
+            new FlowStep<>("virtualAccount", page -> page.selectVirtualAccountPayment()),
+            new FlowStep<>("refundBank", data.refundBank(), page -> page.selectBank(data.refundBank())),
+            new FlowStep<>("refundAccount", refundAccountInput(data), page -> page.fillRefundAccountInformation(data.refundAccountHolder(), data.refundAccountNumber())),
+            new FlowStep<>("paymentIframe", page -> page.switchToPaymentIframe()),
+            new FlowStep<>("finalBank", page -> page.selectFinalBank()),
+            new FlowStep<>("confirmation", page -> page.completePaymentConfirmation()),
+            new FlowStep<>("issuanceComplete", page -> page.waitForIssuanceComplete()));
+    }
+
+    /**
+     * Mobile flow, where bank selection and confirmation are full pages.
+     * @param paymentUrl The checkout entry URL.
+     * @param data The data to enter.
+     * @return The steps in order.
+     */
+    public static List<FlowStep<Utilities>> virtualAccountMobile(String paymentUrl, CheckoutData data) {
+        return List.of(
+            new FlowStep<>("navigate", paymentUrl, page -> page.navigateToPaymentPage(paymentUrl)),
+            new FlowStep<>("initialSteps", page -> page.completeInitialSteps()),
+            new FlowStep<>("customerInformation", customerInput(data), page -> page.fillCustomerInformation(data.customerName(), data.phoneNumber())),
+            new FlowStep<>("virtualAccount", page -> page.selectVirtualAccountPayment()),
+            new FlowStep<>("refundBank", data.refundBank(), page -> page.selectBank(data.refundBank())),
+            new FlowStep<>("refundAccount", refundAccountInput(data), page -> page.fillRefundAccountInformation(data.refundAccountHolder(), data.refundAccountNumber())),
+            new FlowStep<>("finalBank", page -> page.selectFinalBankMobile()),
+            new FlowStep<>("confirmation", page -> page.completePaymentConfirmationMobile()),
+            new FlowStep<>("issuanceComplete", page -> page.waitForIssuanceComplete()));
+    }
+
+    /**
+     * The same flow over the checkout's JSON API. Every step requires the server to accept it.
+     * The client must have been created for the checkout's payment URL.
+     * @param data The data to enter.
+     * @return The steps in order.
+     */
+    public static List<FlowStep<CheckoutHttpClient>> virtualAccountHttp(CheckoutData data) {
+        return List.of(
+            new FlowStep<>("initialSteps", client -> client.completeInitialSteps().requireOk()),
+            new FlowStep<>("customerInformation", customerInput(data), client -> client.fillCustomerInformation(data.customerName(), data.phoneNumber())),
+            new FlowStep<>("virtualAccount", client -> client.selectVirtualAccountPayment().requireOk()),
+            new FlowStep<>("refundBank", data.refundBank(), client -> client.selectBank(data.refundBank()).requireOk()),
+            new FlowStep<>("refundAccount", refundAccountInput(data), client -> client.fillRefundAccountInformation(data.refundAccountHolder(), data.refundAccountNumber()).requireOk()),
+            new FlowStep<>("finalBank", client -> client.selectFinalBank().requireOk()),
+            new FlowStep<>("confirmation", client -> client.completePaymentConfirmation().requireOk()));
+    }
+
+    /**
+     * @param steps A flow.
+     * @param last Name of a step of the flow.
+     * @return The flow's steps up to and including that step.
+     * @throws IllegalArgumentException if the flow has no such step.
+     */
+    public static <P> List<FlowStep<P>> upTo(List<FlowStep<P>> steps, String last) {
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i).name().equals(last)) {
+                return steps.subList(0, i + 1);
+            }
+        }
+        throw new IllegalArgumentException("No step " + last + " in " + steps.stream().map(FlowStep::name).toList());
+    }
+
+    /**
+     * Forks browser flows at the {@link Checkpoint}s, for a {@link PrefixScheduler}.
+     * Checkout progress lives in the stub's cookie, so a restored checkpoint also brings the server side back.
+     * @return Forks that save state after the steps that reach a checkpoint.
+     */
+    public static FlowForks<Utilities> browserForks() {
+        return new FlowForks<>() {
+            @Override
+            public boolean save(Utilities page, FlowStep<Utilities> step, String key) {
+                Checkpoint checkpoint = CHECKPOINTS.get(step.name());
+                if (checkpoint == null) {
+                    return false;
+                }
+                return page.saveCheckpoint(checkpoint, key);
+            }
+
+            @Override
+            public boolean restore(Utilities page, FlowStep<Utilities> step, String key) {
+                return page.restoreCheckpoint(CHECKPOINTS.get(step.name()), key);
+            }
+
+            @Override
+            public void reset(Utilities page) {
+                page.clearSession();
+            }
+        };
+    }
+
+    private static String customerInput(CheckoutData data) {
+        return data.customerName() + "|" + data.phoneNumber();
+    }
+
+    private static String refundAccountInput(CheckoutData data) {
+        return data.refundAccountHolder() + "|" + data.refundAccountNumber();
+    }
+}
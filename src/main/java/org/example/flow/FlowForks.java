@@ -0,0 +1,33 @@
+package org.example.flow;
+
+/**
+ * Saves and restores the state a flow has reached, so that flows sharing their first steps can branch off
+ * without walking those steps again. See {@link PrefixScheduler}.
+ * @param <P> What the flow's steps drive.
+ */
+public interface FlowForks<P> {
+
+    /**
+     * Saves the state right after a step.
+     * @param page What the step drove.
+     * @param step The step that has just run.
+     * @param key Identifies the steps that led here; the same key is passed to {@link #restore}.
+     * @return false if the state after this step can't be saved, e.g. because it is not at a page boundary.
+     */
+    boolean save(P page, FlowStep<P> step, String key);
+
+    /**
+     * Brings a session back to a saved state.
+     * @param page What the flow drives.
+     * @param step The step the state was saved after.
+     * @param key The key it was saved under.
+     * @return false if the state could not be restored; it is forgotten and the steps are replayed instead.
+     */
+    boolean restore(P page, FlowStep<P> step, String key);
+
+    /**
+     * Clears the session, so the first step of a flow starts from nothing.
+     * @param page What the flow drives.
+     */
+    void reset(P page);
+}
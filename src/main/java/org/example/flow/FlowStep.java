@@ -0,0 +1,32 @@
+package org.example.flow;
+
+import java.util.function.Consumer;
+
+/**
+ * A named step of a checkout flow.
+ * @param name Step name used in reports.
+ * @param input The data the step enters, so that steps of the same name entering different data are told apart;
+ *              empty if the step enters none.
+ * @param action The interaction, performed through a page object or protocol client.
+ * @param <P> What the step drives, e.g. {@code Utilities} or {@code CheckoutHttpClient}.
+ */
+public record FlowStep<P>(String name, String input, Consumer<P> action) {
+
+    /**
+     * A step that enters no data.
+     */
+    public FlowStep(String name, Consumer<P> action) {
+        this(name, "", action);
+    }
+
+    public void run(P page) {
+        action.accept(page);
+    }
+
+    /**
+     * @return The name and input; two steps with the same key do the same thing.
+     */
+    public String key() {
+        return input.isEmpty() ? name : name + "(" + input + ")";
+    }
+}
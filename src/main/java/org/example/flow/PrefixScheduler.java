@@ -0,0 +1,214 @@
+package org.example.flow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs flows that share their first steps in one session, walking each shared step only once.
+ * <p>
+ * The flows' steps are merged into a trie by {@link FlowStep#key()}, and the flows are run in the trie's
+ * depth-first order, so a flow usually starts where the one before it branched off. Wherever more than one flow
+ * passes through a step, the state after it is saved with {@link FlowForks#save}. A flow that branches off then
+ * restores the deepest saved state on its path and replays only the steps between that state and its own.
+ * When no state was saved, or restoring fails, the session is reset and the flow is replayed from its first
+ * step. With {@code -Dflow.fork=false} nothing is saved, so every flow that doesn't continue the previous one
+ * is replayed in full.
+ * <p>
+ * Each flow passes or fails on its own: a failure leaves the session in an unknown state, so the next flow
+ * restores or replays instead of continuing. One scheduler drives one session, so it runs one flow at a time:
+ * run the flows' tests in the same thread, e.g. with {@code @Execution(SAME_THREAD)} on a {@code @TestFactory}.
+ * A flow started while another is running fails instead of sharing the session with it.
+ * @param <P> What the flows' steps drive.
+ */
+public final class PrefixScheduler<P> {
+    private static final Logger logger = LoggerFactory.getLogger(PrefixScheduler.class);
+    private static final boolean FORKING = Boolean.parseBoolean(System.getProperty("flow.fork", "true"));
+
+    /**
+     * How much work the shared steps saved.
+     * @param flows Number of flows run.
+     * @param uniqueSteps Distinct steps in the trie.
+     * @param declaredSteps Steps of the flows run, as if each were run on its own.
+     * @param executedSteps Steps actually run, including replays.
+     * @param restores Saved states restored.
+     * @param resets Times the session was reset for a full replay.
+     */
+    public record Stats(int flows, int uniqueSteps, long declaredSteps, long executedSteps, int restores, int resets) {
+    }
+
+    private final P page;
+    private final FlowForks<P> forks;
+    private final Node<P> root = new Node<>(null, null);
+    private final Map<String, List<Node<P>>> flows = new LinkedHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private int uniqueSteps;
+    private int flowsRun;
+    private long declaredSteps;
+    private long executedSteps;
+    private int restores;
+    private int resets;
+    /** The step whose state the session is in, {@link #root} for a fresh session, or null if unknown. */
+    private Node<P> at = root;
+
+    /**
+     * @param page What the flows' steps drive, in the fresh session they share.
+     * @param forks Saves and restores the session's state.
+     */
+    public PrefixScheduler(P page, FlowForks<P> forks) {
+        this.page = page;
+        this.forks = forks;
+    }
+
+    /**
+     * Adds a flow.
+     * @param name Unique name of the flow.
+     * @param steps Its steps, including the checks it ends with.
+     * @return This scheduler.
+     */
+    public PrefixScheduler<P> add(String name, List<FlowStep<P>> steps) {
+        if (flows.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate flow name: " + name);
+        }
+        List<Node<P>> path = new ArrayList<>(steps.size());
+        Node<P> node = root;
+        for (FlowStep<P> step : steps) {
+            Node<P> parent = node;
+            node = parent.children.computeIfAbsent(step.key(), key -> {
+                uniqueSteps++;
+                return new Node<>(parent, step);
+            });
+            node.flows++;
+            path.add(node);
+        }
+        node.ending.add(name);
+        flows.put(name, path);
+        return this;
+    }
+
+    /**
+     * @return The flow names in the order they share the most steps; run them in this order.
+     */
+    public List<String> order() {
+        List<String> order = new ArrayList<>(flows.size());
+        collect(root, order);
+        return order;
+    }
+
+    /**
+     * Brings the session to the last step this flow shares with a flow run before, then runs the rest of it.
+     * @param name A flow added with {@link #add}.
+     * @throws IllegalStateException if another flow is running.
+     * @throws RuntimeException or {@link AssertionError} from the step that failed.
+     */
+    public void run(String name) {
+        List<Node<P>> path = flows.get(name);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown flow: " + name);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Flow '" + name + "' started while another flow of the same session is running");
+        }
+        try {
+            runPath(path);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runPath(List<Node<P>> path) {
+        int next = resume(path);
+        boolean passed = false;
+        try {
+            for (int i = next; i < path.size(); i++) {
+                Node<P> node = path.get(i);
+                executedSteps++;
+                node.step.run(page);
+                at = node;
+                if (FORKING && node.flows > 1 && !node.saved) {
+                    node.saved = forks.save(page, node.step, node.key);
+                }
+            }
+            passed = true;
+        } finally {
+            flowsRun++;
+            declaredSteps += path.size();
+            if (!passed) {
+                at = null;
+            }
+            if (flowsRun == flows.size()) {
+                Stats stats = stats();
+                logger.info("Ran {} flows with {} of {} steps ({} unique), {} restored, {} replayed from the start",
+                    stats.flows(), stats.executedSteps(), stats.declaredSteps(), stats.uniqueSteps(),
+                    stats.restores(), stats.resets());
+            }
+        }
+    }
+
+    /**
+     * @return The work done so far.
+     */
+    public Stats stats() {
+        return new Stats(flowsRun, uniqueSteps, declaredSteps, executedSteps, restores, resets);
+    }
+
+    /**
+     * @return The index of the first step of {@code path} that still has to run.
+     */
+    private int resume(List<Node<P>> path) {
+        if (at == root) {
+            return 0;
+        }
+        int current = path.indexOf(at);
+        if (current >= 0) {
+            return current + 1;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<P> node = path.get(i);
+            if (!node.saved) {
+                continue;
+            }
+            if (forks.restore(page, node.step, node.key)) {
+                restores++;
+                at = node;
+                logger.debug("Restored state after {}", node.key);
+                return i + 1;
+            }
+            node.saved = false;
+        }
+        at = null;
+        forks.reset(page);
+        resets++;
+        at = root;
+        return 0;
+    }
+
+    private static <P> void collect(Node<P> node, List<String> order) {
+        order.addAll(node.ending);
+        for (Node<P> child : node.children.values()) {
+            collect(child, order);
+        }
+    }
+
+    private static final class Node<P> {
+        final FlowStep<P> step;
+        /** Keys of the steps from the first one to this one. */
+        final String key;
+        final Map<String, Node<P>> children = new LinkedHashMap<>();
+        /** Flows that end with this step. */
+        final List<String> ending = new ArrayList<>(1);
+        /** Flows that pass through this step. */
+        int flows;
+        boolean saved;
+
+        Node(Node<P> parent, FlowStep<P> step) {
+            this.step = step;
+            this.key = parent == null ? "" : parent.key.isEmpty() ? step.key() : parent.key + " > " + step.key();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives the virtual-account checkout over its JSON API without a browser, step for step like
+ * {@code Utilities}: the same method names, in the same order, with the same inputs.
+ * One instance is one checkout session; its progress lives in the cookies it keeps.
+ * The underlying {@link HttpClient} is shared between instances.
+ */
+public class CheckoutHttpClient {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutHttpClient.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+        .connectTimeout(REQUEST_TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+    private static final Json JSON = new Json();
+
+    /** Deposit bank chosen by {@code Utilities.selectFinalBank()}. */
+    private static final String FINAL_BANK = "SHINHAN";
+    /** Cash receipt option chosen by the browser flow ("발급안함"). */
+    private static final String NO_CASH_RECEIPT = "NONE";
+
+    private final HttpClient http;
+    private final URI paymentUrl;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+    private String customerName = "";
+    private String phoneNumber = "";
+
+    /**
+     * @param paymentUrl The checkout entry URL, the same one passed to {@code Utilities.navigateToPaymentPage}.
+     */
+    public CheckoutHttpClient(String paymentUrl) {
+        this(SHARED_CLIENT, paymentUrl);
+    }
+
+    public CheckoutHttpClient(HttpClient http, String paymentUrl) {
+        this.http = http;
+        this.paymentUrl = URI.create(paymentUrl);
+    }
+
+    /**
+     * Loads the checkout page and accepts the consent dialog.
+     */
+    public CheckoutResponse completeInitialSteps() {
+        get(paymentUrl);
+        return post("start", Map.of());
+    }
+
+    /**
+     * Saves the 요청사항 memo.
+     */
+    public CheckoutResponse saveRequestContent(String content) {
+        return post("memo", Map.of("memo", content));
+    }
+
+    /**
+     * Like the page form, customer information is only submitted together with the payment method.
+     */
+    public void fillCustomerInformation(String name, String phone) {
+        this.customerName = name;
+        this.phoneNumber = phone;
+    }
+
+    /**
+     * Submits the customer information and selects 가상계좌.
+     * @return The customer step's response if it was rejected, otherwise the payment method step's.
+     */
+    public CheckoutResponse selectVirtualAccountPayment() {
+        CheckoutResponse customer = post("customer", Map.of("name", customerName, "phone", phoneNumber));
+        if (!customer.ok()) {
+            return customer;
+        }
+        return post("method", Map.of("method", "VIRTUAL_ACCOUNT"));
+    }
+
+    /**
+     * Selects the refund bank.
+     * @param bankName The bank name as used by {@code Utilities.selectBank}, e.g. "Shinhan".
+     */
+    public CheckoutResponse selectBank(String bankName) {
+        return post("refund-bank", Map.of("bank", bankName.toUpperCase(Locale.ROOT)));
+    }
+
+    public CheckoutResponse fillRefundAccountInformation(String accountHolder, String accountNumber) {
+        return post("refund-account", Map.of("holder", accountHolder, "account", accountNumber));
+    }
+
+    /**
+     * Selects 신한은행 as the deposit bank, like {@code Utilities.selectFinalBank()}.
+     */
+    public CheckoutResponse selectFinalBank() {
+        return post("deposit-bank", Map.of("bank", FINAL_BANK));
+    }
+
+    /**
+     * Confirms the payment without a cash receipt and with the required agreement.
+     * @return The response carrying {@code virtualAccount} and the confirmation {@code message}.
+     */
+    public CheckoutResponse completePaymentConfirmation() {
+        return post("confirm", Map.of("cashReceipt", NO_CASH_RECEIPT, "agreed", "true"));
+    }
+
+    /**
+     * @return The HTML of the 가상계좌 발급완료 page for this session.
+     */
+    public String completionPage() {
+        return get(paymentUrl.resolve("/payment/complete")).body();
+    }
+
+    private CheckoutResponse post(String action, Map<String, String> form) {
+        HttpRequest request = request(paymentUrl.resolve("/api/checkout/" + action))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(encode(form)))
+            .build();
+        HttpResponse<String> response = send(request);
+        Map<String, Object> body = JSON.toType(response.body(), Json.MAP_TYPE);
+        Map<String, String> fields = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        body.forEach((key, value) -> {
+            if ("errors".equals(key) && value instanceof Map<?, ?> messages) {
+                messages.forEach((field, message) -> errors.put(String.valueOf(field), String.valueOf(message)));
+            } else if (!"ok".equals(key)) {
+                fields.put(key, String.valueOf(value));
+            }
+        });
+        logger.debug("{} -> {} {}", action, response.statusCode(), errors);
+        return new CheckoutResponse(response.statusCode(), Boolean.TRUE.equals(body.get("ok")), fields, errors);
+    }
+
+    private HttpResponse<String> get(URI uri) {
+        return send(request(uri).GET().build());
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT);
+        if (!cookies.isEmpty()) {
+            StringJoiner header = new StringJoiner("; ");
+            cookies.forEach((name, value) -> header.add(name + "=" + value));
+            builder.header("Cookie", header.toString());
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            storeCookies(response.headers().allValues("Set-Cookie"));
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Request failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    private void storeCookies(List<String> setCookies) {
+        for (String setCookie : setCookies) {
+            String pair = setCookie.split(";", 2)[0];
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                cookies.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+    }
+
+    private static String encode(Map<String, String> form) {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((key, value) -> body.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "="
+            + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return body.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.http;
+
+import java.util.Map;
+
+/**
+ * Parsed response of one {@code /api/checkout/*} call.
+ * @param status HTTP status code.
+ * @param ok Whether the step was accepted.
+ * @param fields Values returned by the step, e.g. {@code virtualAccount}.
+ * @param errors Validation messages by form field, as the page would show them.
+ */
+public record CheckoutResponse(int status, boolean ok, Map<String, String> fields, Map<String, String> errors) {
+
+    /**
+     * @return The field value, or an empty string if the step did not return it.
+     */
+    public String field(String name) {
+        return fields.getOrDefault(name, "");
+    }
+
+    /**
+     * @return The validation message for a form field, or an empty string if there is none.
+     */
+    public String error(String field) {
+        return errors.getOrDefault(field, "");
+    }
+
+    /**
+     * @return This response, if the step was accepted.
+     * @throws IllegalStateException If the server rejected the step.
+     */
+    public CheckoutResponse requireOk() {
+        if (!ok) {
+            throw new IllegalStateException("Checkout step rejected with status " + status + ": " + errors);
+        }
+        return this;
+    }
+}
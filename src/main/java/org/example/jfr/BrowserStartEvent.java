@@ -0,0 +1,49 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The start of one pooled browser session, from launch until the session accepts commands.
+ */
+@Name(BrowserStartEvent.NAME)
+@Label("Browser Start")
+@Category({"Checkout Automation", "Browser"})
+@Description("Time from launching a pooled browser session until it is ready for the test")
+@StackTrace(false)
+public final class BrowserStartEvent extends jdk.jfr.Event {
+    public static final String NAME = "org.example.BrowserStart";
+
+    @Label("Pool")
+    String pool;
+
+    @Label("Outcome")
+    @Description("\"ok\", or the simple name of the exception the launch failed with")
+    String outcome;
+
+    /**
+     * @return A started event; pass it to {@link #complete} when the session is ready.
+     */
+    public static BrowserStartEvent start() {
+        BrowserStartEvent event = new BrowserStartEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     * @param pool The pool the session was started for, e.g. {@code DESKTOP}.
+     * @param failure The exception the launch threw, or null.
+     */
+    public void complete(String pool, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.pool = pool;
+            this.outcome = failure == null ? "ok" : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
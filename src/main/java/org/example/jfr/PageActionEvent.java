@@ -0,0 +1,65 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One page-object interaction: a click, a text entry, an element wait or a frame switch.
+ * When recording is off (or the action is under the threshold), {@link #complete} does no work
+ * beyond reading the clock, and the event object itself is usually scalar-replaced.
+ */
+@Name(PageActionEvent.NAME)
+@Label("Page Action")
+@Category({"Checkout Automation", "Page Objects"})
+@Description("A single page-object interaction with its locator, the page step it belongs to and the outcome")
+@StackTrace(false)
+public final class PageActionEvent extends jdk.jfr.Event {
+    public static final String NAME = "org.example.PageAction";
+
+    @Label("Test")
+    String testName;
+
+    @Label("Step")
+    @Description("The page-object method the action ran in, e.g. fillCustomerInformation")
+    String step;
+
+    @Label("Action")
+    String action;
+
+    @Label("Locator")
+    String locator;
+
+    @Label("Outcome")
+    @Description("\"ok\", or the simple name of the exception the action failed with")
+    String outcome;
+
+    /**
+     * @return A started event; pass it to {@link #complete} when the action ends.
+     */
+    public static PageActionEvent start() {
+        PageActionEvent event = new PageActionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold.
+     * @param action What was done, e.g. {@code click}.
+     * @param target The locator or frame acted on.
+     * @param failure The exception the action threw, or null.
+     */
+    public void complete(String action, Object target, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.testName = StepContext.testName();
+            this.step = StepContext.currentStep();
+            this.action = action;
+            this.locator = String.valueOf(target);
+            this.outcome = failure == null ? "ok" : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
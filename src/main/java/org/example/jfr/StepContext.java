@@ -0,0 +1,48 @@
+package org.example.jfr;
+
+import java.util.Optional;
+
+import org.example.pages.BasePage;
+
+/**
+ * Identifies what a page action belongs to, for {@link PageActionEvent}.
+ * The test name is set per thread by the test framework; the step is the page-object method
+ * currently running, found on the stack only when an event is actually committed.
+ */
+public final class StepContext {
+    private static final ThreadLocal<String> testName = new ThreadLocal<>();
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private StepContext() {
+    }
+
+    /**
+     * @param name The running test, e.g. {@code VirtualAccountPaymentTest#testVirtualAccountPayment}; null to clear.
+     */
+    public static void setTestName(String name) {
+        if (name == null) {
+            testName.remove();
+        } else {
+            testName.set(name);
+        }
+    }
+
+    static String testName() {
+        String name = testName.get();
+        return name != null ? name : Thread.currentThread().getName();
+    }
+
+    /**
+     * @return The innermost method of a {@link BasePage} subclass on the current stack, e.g.
+     *     {@code fillCustomerInformation}, or {@code -} when the action was called from elsewhere.
+     */
+    public static String currentStep() {
+        Optional<String> step = walker.walk(frames -> frames
+            .filter(frame -> frame.getDeclaringClass() != BasePage.class
+                && BasePage.class.isAssignableFrom(frame.getDeclaringClass()))
+            .map(StackWalker.StackFrame::getMethodName)
+            .filter(name -> !name.startsWith("lambda$"))
+            .findFirst());
+        return step.orElse("-");
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes {@link PageActionEvent}s in a recording per page step, alongside the GC pause time
+ * that overlapped each step's actions:
+ * <pre>java -cp target/classes org.example.jfr.StepSummary target/checkout-steps.jfr [top]</pre>
+ * Actions nest: a click waits for its element, a frame switch waits for the frame. The step table
+ * counts only the outermost actions on each thread, so a nested wait's time isn't added to its step
+ * twice. The second table lists the slowest individual locators ({@code top}, default 15), nested
+ * ones included.
+ */
+public final class StepSummary {
+    private static final String GC_PAUSE = "jdk.GCPhasePause";
+
+    private StepSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: StepSummary <recording.jfr> [top]");
+            System.exit(2);
+        }
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        List<Action> actions = new ArrayList<>();
+        List<Instant[]> pauses = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(Paths.get(args[0]))) {
+            String type = event.getEventType().getName();
+            if (PageActionEvent.NAME.equals(type)) {
+                actions.add(new Action(event.getString("step"), event.getString("action") + " " + event.getString("locator"),
+                    !"ok".equals(event.getString("outcome")), event.getThread() == null ? -1 : event.getThread().getJavaThreadId(),
+                    event.getStartTime(), event.getEndTime()));
+            } else if (GC_PAUSE.equals(type)) {
+                pauses.add(new Instant[] {event.getStartTime(), event.getEndTime()});
+            }
+        }
+        if (actions.isEmpty()) {
+            System.out.println("No " + PageActionEvent.NAME + " events in " + args[0]
+                + "; record with the checkout-steps.jfc settings.");
+            return;
+        }
+        System.out.printf("%d page actions, %d GC pauses in %s%n%n", actions.size(), pauses.size(), Path.of(args[0]).getFileName());
+        print("step", group(outermost(actions), Action::step, pauses), Integer.MAX_VALUE);
+        System.out.println();
+        print("slowest locators", group(actions, Action::target, pauses), top);
+    }
+
+    private static Map<String, Stats> group(List<Action> actions, Function<Action, String> key, List<Instant[]> pauses) {
+        Map<String, Stats> groups = new LinkedHashMap<>();
+        for (Action action : actions) {
+            groups.computeIfAbsent(key.apply(action), k -> new Stats()).add(action, gcOverlap(action, pauses));
+        }
+        return groups;
+    }
+
+    /**
+     * @return The actions not contained in another action on the same thread.
+     */
+    private static List<Action> outermost(List<Action> actions) {
+        List<Action> sorted = new ArrayList<>(actions);
+        sorted.sort(Comparator.comparingLong(Action::thread).thenComparing(Action::start)
+            .thenComparing(Action::end, Comparator.reverseOrder()));
+        List<Action> outermost = new ArrayList<>();
+        Action enclosing = null;
+        for (Action action : sorted) {
+            if (enclosing != null && enclosing.thread() == action.thread() && !action.end().isAfter(enclosing.end())) {
+                continue;
+            }
+            outermost.add(action);
+            enclosing = action;
+        }
+        return outermost;
+    }
+
+    private static void print(String title, Map<String, Stats> groups, int limit) {
+        System.out.printf("%-48s %6s %10s %9s %9s %9s %8s %6s%n", title, "count", "total ms", "p50 ms", "p95 ms", "max ms", "gc ms", "failed");
+        groups.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, Stats> entry) -> entry.getValue().totalNanos()).reversed())
+            .limit(limit)
+            .forEach(entry -> {
+                Stats stats = entry.getValue();
+                System.out.printf("%-48s %6d %10.1f %9.1f %9.1f %9.1f %8.1f %6d%n", abbreviate(entry.getKey(), 48),
+                    stats.durations.size(), millis(stats.totalNanos()), millis(stats.percentile(50)), millis(stats.percentile(95)),
+                    millis(stats.percentile(100)), millis(stats.gcNanos), stats.failed);
+            });
+    }
+
+    private static long gcOverlap(Action action, List<Instant[]> pauses) {
+        long overlap = 0;
+        for (Instant[] pause : pauses) {
+            Instant start = pause[0].isAfter(action.start()) ? pause[0] : action.start();
+            Instant end = pause[1].isBefore(action.end()) ? pause[1] : action.end();
+            if (start.isBefore(end)) {
+                overlap += Duration.between(start, end).toNanos();
+            }
+        }
+        return overlap;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String abbreviate(String text, int width) {
+        return text.length() <= width ? text : text.substring(0, width - 3) + "...";
+    }
+
+    private record Action(String step, String target, boolean failed, long thread, Instant start, Instant end) {
+        long nanos() {
+            return Duration.between(start, end).toNanos();
+        }
+    }
+
+    private static final class Stats {
+        final List<Long> durations = new ArrayList<>();
+        long gcNanos;
+        int failed;
+
+        void add(Action action, long gcOverlap) {
+            durations.add(action.nanos());
+            gcNanos += gcOverlap;
+            if (action.failed()) {
+                failed++;
+            }
+        }
+
+        long totalNanos() {
+            return durations.stream().mapToLong(Long::longValue).sum();
+        }
+
+        long percentile(int percentile) {
+            long[] sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
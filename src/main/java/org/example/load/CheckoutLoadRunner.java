@@ -0,0 +1,173 @@
+package org.example.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.example.data.CheckoutData;
+import org.example.driver.BrowserProfile;
+import org.example.driver.DriverFactory;
+import org.example.driver.DriverPool;
+import org.example.flow.CheckoutFlows;
+import org.example.flow.FlowStep;
+import org.example.http.CheckoutHttpClient;
+import org.example.pages.Utilities;
+import org.example.stub.CheckoutStubServer;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives many concurrent checkout flows through the regular page objects to find where the checkout
+ * (or the automation) stops scaling. Every arriving flow gets its own virtual thread, so waiting on
+ * page loads and WebDriver calls costs no platform threads; the number of real browsers is bounded
+ * by a dedicated {@link DriverPool}. Flows that arrive while all browsers are busy queue for one, and
+ * that queueing time is reported as the {@code browserWait} step rather than hidden.
+ * With {@link LoadProfile.Protocol#HTTP} the same flow runs over the checkout API instead and no browser is used.
+ */
+public final class CheckoutLoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutLoadRunner.class);
+
+    private final LoadProfile profile;
+    private final String paymentUrl;
+    private final CheckoutData data;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger steadyStateCompleted = new AtomicInteger();
+
+    public CheckoutLoadRunner(LoadProfile profile, String paymentUrl, CheckoutData data) {
+        this.profile = profile;
+        this.paymentUrl = paymentUrl;
+        this.data = data;
+    }
+
+    /**
+     * Runs the load profile to completion and waits for in-flight flows to drain.
+     * @return The run's throughput and latency summary.
+     */
+    public LoadReport run() {
+        if (profile.protocol() == LoadProfile.Protocol.HTTP) {
+            List<FlowStep<CheckoutHttpClient>> steps = CheckoutFlows.virtualAccountHttp(data);
+            return drive(arrival -> runFlow(steps, new CheckoutHttpClient(paymentUrl), arrival.nanos(), arrival.steadyState()));
+        }
+        List<FlowStep<Utilities>> steps = profile.browser() == BrowserProfile.MOBILE
+            ? CheckoutFlows.virtualAccountMobile(paymentUrl, data)
+            : CheckoutFlows.virtualAccountDesktop(paymentUrl, data);
+        try (DriverPool pool = new DriverPool("load-" + profile.browser().name().toLowerCase(), profile.browser()::newDriver,
+                 profile.maxBrowsers(), DriverFactory.MAX_REUSE)) {
+            // The executor is drained inside drive(), so no flow still holds a browser when the pool closes.
+            return drive(arrival -> runBrowserFlow(pool, steps, arrival));
+        }
+    }
+
+    /**
+     * Paces arrivals along the profile and starts one virtual thread per flow.
+     */
+    private LoadReport drive(Consumer<Arrival> flow) {
+        long totalNanos = profile.totalDuration().toNanos();
+        int started = 0;
+        long start = System.nanoTime();
+        try (ExecutorService flows = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 1; ; n++) {
+                long offset = profile.arrivalOffset(n).toNanos();
+                if (offset >= totalNanos) {
+                    break;
+                }
+                sleepUntil(start + offset);
+                Arrival arrival = new Arrival(start + offset, offset >= profile.rampUp().toNanos());
+                flows.submit(() -> flow.accept(arrival));
+                started++;
+            }
+            logger.info("All {} flows started, waiting for in-flight flows to finish", started);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadReport(profile, started, completed.get(), failed.get(), steadyStateCompleted.get(),
+            elapsed, recorder.summarize());
+    }
+
+    private void runBrowserFlow(DriverPool pool, List<FlowStep<Utilities>> steps, Arrival arrival) {
+        WebDriver driver;
+        try {
+            driver = pool.acquire();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.warn("Flow could not get a browser: {}", e.toString());
+            return;
+        }
+        recorder.record("browserWait", System.nanoTime() - arrival.nanos());
+        try {
+            runFlow(steps, new Utilities(driver), arrival.nanos(), arrival.steadyState());
+        } finally {
+            pool.release(driver);
+        }
+    }
+
+    private <P> void runFlow(List<FlowStep<P>> steps, P page, long arrival, boolean steadyState) {
+        String current = "setup";
+        try {
+            for (FlowStep<P> step : steps) {
+                current = step.name();
+                long stepStart = System.nanoTime();
+                step.run(page);
+                recorder.record(step.name(), System.nanoTime() - stepStart);
+            }
+            recorder.record("flow", System.nanoTime() - arrival);
+            completed.incrementAndGet();
+            if (steadyState) {
+                steadyStateCompleted.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.warn("Flow failed at step {}: {}", current, e.toString());
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while pacing load arrivals");
+            }
+        }
+    }
+
+    /**
+     * Scheduled start of a flow.
+     * @param nanos {@link System#nanoTime()} the flow was due to arrive.
+     * @param steadyState Whether it arrived after the ramp-up.
+     */
+    private record Arrival(long nanos, boolean steadyState) {
+    }
+
+    /**
+     * Runs a load profile from the command line. The profile comes from {@code -Dload.*} properties
+     * (see {@link LoadProfile#fromSystemProperties()}); {@code -Dload.target} points at a real checkout,
+     * otherwise an embedded {@link CheckoutStubServer} is started. Browsers run headless unless
+     * {@code -Dbrowser.headless=false} is given.
+     */
+    public static void main(String[] args) {
+        if (System.getProperty("browser.headless") == null) {
+            System.setProperty("browser.headless", "true");
+        }
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        String target = System.getProperty("load.target");
+        CheckoutStubServer stub = target == null ? CheckoutStubServer.start() : null;
+        try {
+            String paymentUrl = stub != null ? stub.paymentUrl() : target;
+            logger.info("Load run against {}: {}", paymentUrl, profile);
+            LoadReport report = new CheckoutLoadRunner(profile, paymentUrl, CheckoutData.DEFAULT).run();
+            System.out.print(report.format());
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+}
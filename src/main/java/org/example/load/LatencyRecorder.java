@@ -0,0 +1,38 @@
+package org.example.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects latency samples per step name. Samples are kept in full since a run produces at most a few
+ * thousand flows; percentiles are computed by nearest rank when the report is built.
+ */
+final class LatencyRecorder {
+    private final Map<String, List<Long>> samples = new LinkedHashMap<>();
+
+    synchronized void record(String step, long nanos) {
+        samples.computeIfAbsent(step, key -> new ArrayList<>()).add(nanos);
+    }
+
+    /**
+     * @return Summaries in first-recorded order.
+     */
+    synchronized List<StepStats> summarize() {
+        List<StepStats> stats = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            stats.add(new StepStats(entry.getKey(), sorted.length,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), sorted[sorted.length - 1] / 1_000_000.0));
+        }
+        return stats;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
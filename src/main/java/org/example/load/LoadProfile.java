@@ -0,0 +1,73 @@
+package org.example.load;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.example.driver.BrowserProfile;
+
+/**
+ * Shape of a synthetic load run: arrivals ramp linearly from zero to the target rate, then hold it.
+ * @param targetFlowsPerSecond Arrival rate reached at the end of the ramp-up.
+ * @param rampUp Time spent ramping up to the target rate.
+ * @param steadyState Time the target rate is held.
+ * @param maxBrowsers Upper bound on concurrently open browser sessions.
+ * @param browser Browser profile the flows run with.
+ * @param protocol Whether flows drive a browser or call the checkout API directly.
+ */
+public record LoadProfile(double targetFlowsPerSecond, Duration rampUp, Duration steadyState, int maxBrowsers,
+                          BrowserProfile browser, Protocol protocol) {
+
+    /** How each flow talks to the checkout. */
+    public enum Protocol {
+        /** Through {@code Utilities} in a pooled browser. */
+        BROWSER,
+        /** Through {@code CheckoutHttpClient}; no browsers are started. */
+        HTTP
+    }
+
+    public LoadProfile {
+        if (targetFlowsPerSecond <= 0) {
+            throw new IllegalArgumentException("targetFlowsPerSecond must be positive: " + targetFlowsPerSecond);
+        }
+        if (rampUp.isNegative() || steadyState.isNegative()) {
+            throw new IllegalArgumentException("rampUp and steadyState must not be negative");
+        }
+        if (maxBrowsers < 1) {
+            throw new IllegalArgumentException("maxBrowsers must be at least 1: " + maxBrowsers);
+        }
+    }
+
+    /**
+     * Reads the profile from system properties:
+     * {@code -Dload.rate}, {@code -Dload.rampUpSeconds}, {@code -Dload.durationSeconds},
+     * {@code -Dload.browsers}, {@code -Dload.mobile} and {@code -Dload.protocol} ({@code browser} or {@code http}).
+     */
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+            Double.parseDouble(System.getProperty("load.rate", "1")),
+            Duration.ofSeconds(Long.getLong("load.rampUpSeconds", 10)),
+            Duration.ofSeconds(Long.getLong("load.durationSeconds", 60)),
+            Integer.getInteger("load.browsers", Runtime.getRuntime().availableProcessors()),
+            Boolean.getBoolean("load.mobile") ? BrowserProfile.MOBILE : BrowserProfile.DESKTOP,
+            Protocol.valueOf(System.getProperty("load.protocol", "browser").toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Offset of the n-th arrival from the start of the run, so that the cumulative arrival count follows
+     * the ramp: {@code R*t^2/(2T)} during ramp-up and {@code R*T/2 + R*(t-T)} afterwards.
+     * @param n Arrival number, starting at 1.
+     */
+    Duration arrivalOffset(long n) {
+        double rate = targetFlowsPerSecond;
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double rampArrivals = rate * rampSeconds / 2;
+        double seconds = n <= rampArrivals
+            ? Math.sqrt(2 * rampSeconds * n / rate)
+            : rampSeconds + (n - rampArrivals) / rate;
+        return Duration.ofNanos((long) (seconds * 1e9));
+    }
+
+    Duration totalDuration() {
+        return rampUp.plus(steadyState);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.load;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a load run.
+ * @param profile The profile the run used.
+ * @param started Flows that arrived.
+ * @param completed Flows that finished every step.
+ * @param failed Flows that threw before finishing.
+ * @param steadyStateCompleted Completed flows that arrived after the ramp-up.
+ * @param elapsed Wall time of the whole run, including draining in-flight flows.
+ * @param steps Per-step latencies; {@code browserWait} and {@code flow} are reported alongside the page steps.
+ */
+public record LoadReport(LoadProfile profile, int started, int completed, int failed, int steadyStateCompleted,
+                         Duration elapsed, List<StepStats> steps) {
+
+    /**
+     * @return Completed flows per second over the steady-state window.
+     */
+    public double steadyStateThroughput() {
+        long millis = profile.steadyState().toMillis();
+        return millis == 0 ? 0 : steadyStateCompleted * 1000.0 / millis;
+    }
+
+    /**
+     * @return A plain-text table for logs and console output.
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("flows: started=%d completed=%d failed=%d elapsed=%ds%n",
+            started, completed, failed, elapsed.toSeconds()));
+        text.append(String.format("steady-state throughput: %.2f flows/s (target %.2f)%n",
+            steadyStateThroughput(), profile.targetFlowsPerSecond()));
+        text.append(String.format("%-20s %7s %10s %10s %10s %10s%n", "step", "count", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (StepStats step : steps) {
+            text.append(String.format("%-20s %7d %10.1f %10.1f %10.1f %10.1f%n",
+                step.step(), step.count(), step.p50(), step.p95(), step.p99(), step.max()));
+        }
+        return text.toString();
+    }
+}
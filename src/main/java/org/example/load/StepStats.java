@@ -0,0 +1,7 @@
+package org.example.load;
+
+/**
+ * Latency summary of one step, in milliseconds.
+ */
+public record StepStats(String step, int count, double p50, double p95, double p99, double max) {
+}
@@ -0,0 +1,117 @@
+package org.example.network;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.stats.StatsFiles;
+
+/**
+ * Transfer sizes of blockable assets, learned in {@link RequestBlocker.Mode#MEASURE} runs and used to estimate
+ * the bytes a blocking run saved. Kept in {@code -Dblocking.sizesFile} (default {@code .stats/asset-sizes.tsv})
+ * as {@code key, bytes}. The key is the URL's host and path, without scheme, port, query string or fragment, so
+ * the stub's assets keep their key although it listens on a new port every run; the last measurement of a key wins.
+ */
+public final class AssetSizes {
+    /** Where sizes are kept, from {@code -Dblocking.sizesFile}. */
+    public static final Path FILE = Paths.get(System.getProperty("blocking.sizesFile", ".stats/asset-sizes.tsv"));
+
+    private static volatile AssetSizes shared;
+
+    private final Path file;
+    private final Map<String, Long> sizes;
+
+    AssetSizes(Path file) {
+        this.file = file;
+        this.sizes = read(file);
+    }
+
+    /**
+     * @return The sizes file of this run, read on first use.
+     */
+    public static AssetSizes shared() {
+        if (shared == null) {
+            synchronized (AssetSizes.class) {
+                if (shared == null) {
+                    shared = new AssetSizes(FILE);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * @param url A request URL.
+     * @return The last measured transfer size, or -1 if the asset was never measured.
+     */
+    public long bytesOf(String url) {
+        return sizes.getOrDefault(key(url), -1L);
+    }
+
+    /**
+     * Records measured sizes and appends them to the file; safe to call from concurrent tests and forks.
+     * @param measured URL to transfer size.
+     */
+    public void append(Map<String, Long> measured) throws IOException {
+        if (measured.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        measured.forEach((url, bytes) -> {
+            sizes.put(key(url), bytes);
+            lines.append(key(url)).append('\t').append(bytes).append('\n');
+        });
+        StatsFiles.append(file, lines);
+    }
+
+    static String key(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getHost() != null) {
+                return uri.getHost() + (uri.getRawPath() == null ? "" : uri.getRawPath());
+            }
+        } catch (URISyntaxException e) {
+            // Fall back to cutting the URL below.
+        }
+        int end = url.length();
+        int query = url.indexOf('?');
+        int fragment = url.indexOf('#');
+        if (query >= 0) {
+            end = query;
+        }
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return url.substring(0, end);
+    }
+
+    private static Map<String, Long> read(Path file) {
+        Map<String, Long> sizes = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return sizes;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.lastIndexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                try {
+                    sizes.put(line.substring(0, tab), Long.parseLong(line.substring(tab + 1).trim()));
+                } catch (NumberFormatException e) {
+                    // Skip malformed lines.
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read asset sizes from " + file, e);
+        }
+        return sizes;
+    }
+}
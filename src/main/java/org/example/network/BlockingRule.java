@@ -0,0 +1,144 @@
+package org.example.network;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * One line of the request blocking rules: {@code allow|deny <resource type|*> <url pattern>}.
+ * The resource type is a CDP {@code Network.ResourceType} such as {@code Image}, {@code Font} or {@code Script};
+ * the URL pattern is a glob where {@code *} matches any characters and {@code ?} one character, the same syntax
+ * CDP's {@code Fetch} patterns use. The first rule matching a request decides; unmatched requests are allowed.
+ */
+public final class BlockingRule {
+    /**
+     * The built-in rules: keep the bank icons the page objects click, wherever they are served from, and drop
+     * fonts, other images, media and well-known analytics and tracking hosts. The page objects find the icons by
+     * {@code img[src*='icn-bank-<bank>.svg']}, so the icon rule matches on the file name alone.
+     */
+    public static final List<BlockingRule> DEFAULTS = List.of(
+        parse("allow Image *icn-bank-*.svg*"),
+        parse("deny Font *"),
+        parse("deny Image *"),
+        parse("deny Media *"),
+        parse("deny Ping *"),
+        parse("deny * *google-analytics.com/*"),
+        parse("deny * *googletagmanager.com/*"),
+        parse("deny * *doubleclick.net/*"),
+        parse("deny * *connect.facebook.net/*"),
+        parse("deny * *facebook.com/tr*"),
+        parse("deny * *analytics.tiktok.com/*"),
+        parse("deny * *hotjar.com/*"),
+        parse("deny * *clarity.ms/*"),
+        parse("deny * *sentry.io/*"),
+        parse("deny * *browser-intake-datadoghq.com/*"));
+
+    private final boolean allow;
+    private final String resourceType;
+    private final String urlPattern;
+    private final Pattern regex;
+
+    /**
+     * @param allow true to let matching requests through.
+     * @param resourceType The resource type, or {@code *} for any.
+     * @param urlPattern The glob the whole URL must match.
+     */
+    public BlockingRule(boolean allow, String resourceType, String urlPattern) {
+        if (resourceType == null || urlPattern == null || resourceType.isBlank() || urlPattern.isBlank()) {
+            throw new IllegalArgumentException("A blocking rule needs a resource type and a URL pattern");
+        }
+        this.allow = allow;
+        this.resourceType = resourceType;
+        this.urlPattern = urlPattern;
+        this.regex = globToRegex(urlPattern);
+    }
+
+    public boolean allow() {
+        return allow;
+    }
+
+    public String resourceType() {
+        return resourceType;
+    }
+
+    public String urlPattern() {
+        return urlPattern;
+    }
+
+    /**
+     * @param line e.g. {@code deny Font *}.
+     * @return The rule.
+     * @throws IllegalArgumentException if the line is not a rule.
+     */
+    public static BlockingRule parse(String line) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length != 3 || !(parts[0].equals("allow") || parts[0].equals("deny"))) {
+            throw new IllegalArgumentException("Expected 'allow|deny <resource type|*> <url pattern>', got: " + line);
+        }
+        return new BlockingRule(parts[0].equals("allow"), parts[1], parts[2]);
+    }
+
+    /**
+     * Reads rules from a file, one per line. Blank lines and lines starting with {@code #} are ignored.
+     * @param file The rules file.
+     * @return The rules in file order.
+     */
+    public static List<BlockingRule> load(Path file) {
+        List<BlockingRule> rules = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank() && !line.trim().startsWith("#")) {
+                    rules.add(parse(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read blocking rules from " + file, e);
+        }
+        return rules;
+    }
+
+    /**
+     * @return true if the request is blocked by the first matching rule.
+     */
+    public static boolean blocks(List<BlockingRule> rules, String resourceType, String url) {
+        for (BlockingRule rule : rules) {
+            if (rule.matches(resourceType, url)) {
+                return !rule.allow;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param type The request's resource type.
+     * @param url The request URL.
+     * @return true if this rule applies to the request.
+     */
+    public boolean matches(String type, String url) {
+        return ("*".equals(resourceType) || resourceType.equalsIgnoreCase(type)) && regex.matcher(url).matches();
+    }
+
+    @Override
+    public String toString() {
+        return (allow ? "allow " : "deny ") + resourceType + " " + urlPattern;
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
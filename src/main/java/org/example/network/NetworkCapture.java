@@ -0,0 +1,401 @@
+package org.example.network;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.driver.CdpEvents;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the network requests of one browser session through CDP {@code Network} events.
+ * Each finished request is written straight away as one JSON line with HAR-style timings
+ * ({@code dns}, {@code connect}, {@code ssl}, {@code send}, {@code wait}, {@code receive}), so only requests
+ * still in flight are held in memory. Every line carries the frame that issued the request and the page step
+ * that was running when it started (see {@link #markStep(WebDriver, String)}).
+ * <p>
+ * Selenium hands CDP events to a thread pool, so a request's events can be handled in any order: its
+ * {@code loadingFinished} may come before its {@code requestWillBeSent}. Events are therefore collected per
+ * request id, and a request is written once both its start and its end are in, with redirect hops ordered
+ * by their timestamps. Frame names are looked up at that point too.
+ */
+public final class NetworkCapture implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkCapture.class);
+    private static final Json JSON = new Json();
+    private static final Map<WebDriver, NetworkCapture> active = new ConcurrentHashMap<>();
+    private static final int RECENTLY_COMPLETED = 256;
+
+    private final WebDriver driver;
+    private final CdpEvents cdp;
+    private final List<AutoCloseable> subscriptions = new ArrayList<>();
+    private final String testName;
+    private final Path file;
+    private final BufferedWriter out;
+    /** Request id to the events seen so far, until the request has both started and ended. */
+    private final Map<String, Exchange> inFlight = new HashMap<>();
+    /** Recently written request ids, so that an event handled after its request was written is dropped. */
+    private final Set<String> completed = Collections.newSetFromMap(new LinkedHashMap<>(64, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENTLY_COMPLETED;
+        }
+    });
+    private final Map<String, String> frameNames = new HashMap<>();
+    private final Map<String, EndpointStats> endpoints = new TreeMap<>();
+    private volatile String step = "-";
+    private int written;
+
+    private NetworkCapture(WebDriver driver, String testName, Path file) throws IOException {
+        this.driver = driver;
+        this.testName = testName;
+        this.file = file;
+        this.cdp = CdpEvents.of(driver);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Starts recording the session's requests to a JSON lines file.
+     * @param driver A Chromium session.
+     * @param testName Written to every line.
+     * @param file The file to write; replaced if it exists.
+     * @return The running capture; close it to stop.
+     */
+    public static NetworkCapture start(WebDriver driver, String testName, Path file) {
+        try {
+            NetworkCapture capture = new NetworkCapture(driver, testName, file);
+            capture.subscribe();
+            active.put(driver, capture);
+            return capture;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open network capture file " + file, e);
+        }
+    }
+
+    /**
+     * Attributes requests that start from now on to the given page step, if the session is being captured.
+     * @param driver The session the step runs in.
+     * @param step The page-object method, e.g. {@code fillCustomerInformation}.
+     */
+    public static void markStep(WebDriver driver, String step) {
+        NetworkCapture capture = active.get(driver);
+        if (capture != null) {
+            capture.step = step;
+        }
+    }
+
+    /**
+     * @param driver A session.
+     * @return true if the session is being captured; lets callers skip computing the step name.
+     */
+    public static boolean isCapturing(WebDriver driver) {
+        return active.containsKey(driver);
+    }
+
+    /**
+     * @return The file requests are written to.
+     */
+    public Path file() {
+        return file;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void subscribe() {
+        subscriptions.add(cdp.subscribe("Page.frameNavigated", params -> onFrameNavigated((Map<String, Object>) params.get("frame"))));
+        subscriptions.add(cdp.subscribe("Network.requestWillBeSent", this::onRequest));
+        subscriptions.add(cdp.subscribe("Network.responseReceived", this::onResponse));
+        subscriptions.add(cdp.subscribe("Network.loadingFinished", this::onFinished));
+        subscriptions.add(cdp.subscribe("Network.loadingFailed", this::onFailed));
+        cdp.send("Page.enable", Map.of());
+        cdp.send("Network.enable", Map.of());
+    }
+
+    private synchronized void onFrameNavigated(Map<String, Object> frame) {
+        String name = (String) frame.get("name");
+        boolean main = frame.get("parentId") == null;
+        frameNames.put((String) frame.get("id"), main ? "main" : name == null || name.isEmpty() ? "iframe" : name);
+    }
+
+    private synchronized void onRequest(Map<String, Object> params) {
+        Exchange exchange = exchange(params);
+        if (exchange == null) {
+            return;
+        }
+        exchange.hops.add(new Hop(params, step));
+        complete((String) params.get("requestId"), exchange);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onResponse(Map<String, Object> params) {
+        Exchange exchange = exchange(params);
+        if (exchange != null) {
+            exchange.response = (Map<String, Object>) params.get("response");
+        }
+    }
+
+    private synchronized void onFinished(Map<String, Object> params) {
+        Exchange exchange = exchange(params);
+        if (exchange == null) {
+            return;
+        }
+        exchange.end = params;
+        complete((String) params.get("requestId"), exchange);
+    }
+
+    private synchronized void onFailed(Map<String, Object> params) {
+        Exchange exchange = exchange(params);
+        if (exchange == null) {
+            return;
+        }
+        exchange.end = params;
+        exchange.error = (String) params.get("errorText");
+        complete((String) params.get("requestId"), exchange);
+    }
+
+    /**
+     * @return The request's events so far, or null if the request was already written.
+     */
+    private Exchange exchange(Map<String, Object> params) {
+        String id = (String) params.get("requestId");
+        return completed.contains(id) ? null : inFlight.computeIfAbsent(id, key -> new Exchange());
+    }
+
+    /**
+     * Writes a request once it has started and ended. A redirect reuses the request id, so each hop but the
+     * last ends where the next one starts, with the next one's {@code redirectResponse} as its response.
+     */
+    @SuppressWarnings("unchecked")
+    private void complete(String id, Exchange exchange) {
+        if (exchange.end == null || exchange.hops.isEmpty()) {
+            return;
+        }
+        inFlight.remove(id);
+        completed.add(id);
+        exchange.hops.sort(Comparator.comparingDouble(hop -> number(hop.params().get("timestamp"))));
+        for (int i = 0; i < exchange.hops.size(); i++) {
+            Hop hop = exchange.hops.get(i);
+            Map<String, Object> request = (Map<String, Object>) hop.params().get("request");
+            String url = (String) request.get("url");
+            boolean last = i == exchange.hops.size() - 1;
+            Map<String, Object> next = last ? null : exchange.hops.get(i + 1).params();
+            if (url.startsWith("data:")) {
+                continue;
+            }
+            String frameId = (String) hop.params().get("frameId");
+            Pending pending = new Pending(hop.step(), frameNames.getOrDefault(frameId, frameId == null ? "-" : frameId),
+                (String) request.get("method"), url, (String) hop.params().get("type"),
+                number(hop.params().get("timestamp")), number(hop.params().get("wallTime")));
+            if (!last) {
+                pending.response((Map<String, Object>) next.get("redirectResponse"));
+                finish(pending, number(next.get("timestamp")), null);
+                continue;
+            }
+            if (exchange.response != null) {
+                pending.response(exchange.response);
+            }
+            pending.bytes = (long) number(exchange.end.get("encodedDataLength"));
+            finish(pending, number(exchange.end.get("timestamp")), exchange.error);
+        }
+    }
+
+    private void finish(Pending pending, double endSeconds, String error) {
+        double total = Math.max(0, (endSeconds - pending.startSeconds) * 1000);
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("test", testName);
+        line.put("step", pending.step);
+        line.put("frame", pending.frame);
+        line.put("method", pending.method);
+        line.put("url", pending.url);
+        line.put("type", pending.type);
+        line.put("status", pending.status);
+        line.put("startedMs", (long) (pending.wallSeconds * 1000));
+        line.put("totalMs", round(total));
+        line.put("timings", pending.timings(total));
+        line.put("bytes", pending.bytes);
+        if (error != null) {
+            line.put("error", error);
+        }
+        String endpoint = pending.method + " " + endpointOf(pending.url);
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).add(total, pending.waitMillis(), error != null || pending.status >= 400);
+        try {
+            out.write(JSON.toJson(line).replace('\n', ' '));
+            out.newLine();
+            written++;
+        } catch (IOException e) {
+            logger.warn("Could not write network capture to {}: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Stops listening and closes the file. Requests still in flight, or whose start never arrived, are dropped.
+     * The Network domain stays enabled for other subscribers of the session.
+     */
+    @Override
+    public void close() {
+        active.remove(driver, this);
+        for (AutoCloseable subscription : subscriptions) {
+            try {
+                subscription.close();
+            } catch (Exception e) {
+                logger.debug("Could not unsubscribe network capture", e);
+            }
+        }
+        synchronized (this) {
+            inFlight.clear();
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.warn("Could not close network capture {}: {}", file, e.toString());
+            }
+            logger.debug("Captured {} requests to {}", written, file);
+        }
+    }
+
+    /**
+     * @return One line per endpoint (method, host and path) with request count, failures and latency
+     *     percentiles, tab-separated with a header line.
+     */
+    public synchronized String endpointSummary() {
+        StringBuilder summary = new StringBuilder("endpoint\trequests\tfailed\tp50 ms\tp95 ms\tmax ms\tp50 wait ms\n");
+        endpoints.forEach((endpoint, stats) -> summary.append(endpoint).append('\t').append(stats.format()).append('\n'));
+        return summary.toString();
+    }
+
+    private static String endpointOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getHost() == null ? url : uri.getHost() + (uri.getPath() == null ? "" : uri.getPath());
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    private record Hop(Map<String, Object> params, String step) {
+    }
+
+    /** The events of one request id seen so far. */
+    private static final class Exchange {
+        final List<Hop> hops = new ArrayList<>(1);
+        Map<String, Object> response;
+        /** The {@code loadingFinished} or {@code loadingFailed} parameters. */
+        Map<String, Object> end;
+        String error;
+    }
+
+    private static final class Pending {
+        final String step;
+        final String frame;
+        final String method;
+        final String url;
+        final String type;
+        final double startSeconds;
+        final double wallSeconds;
+        int status;
+        long bytes;
+        Map<String, Object> timing;
+
+        Pending(String step, String frame, String method, String url, String type, double startSeconds, double wallSeconds) {
+            this.step = step;
+            this.frame = frame;
+            this.method = method;
+            this.url = url;
+            this.type = type;
+            this.startSeconds = startSeconds;
+            this.wallSeconds = wallSeconds;
+        }
+
+        @SuppressWarnings("unchecked")
+        void response(Map<String, Object> response) {
+            status = (int) number(response.get("status"));
+            timing = (Map<String, Object>) response.get("timing");
+        }
+
+        /**
+         * Splits the total time into HAR phases from the response's resource timing, whose marks are
+         * milliseconds after {@code requestTime} and -1 when a phase didn't happen.
+         */
+        Map<String, Object> timings(double total) {
+            Map<String, Object> phases = new LinkedHashMap<>();
+            if (timing == null) {
+                return phases;
+            }
+            double offset = (number(timing.get("requestTime")) - startSeconds) * 1000;
+            phases.put("blocked", round(Math.max(0, offset + firstMark("dnsStart", "connectStart", "sendStart"))));
+            phases.put("dns", phase("dnsStart", "dnsEnd"));
+            phases.put("connect", phase("connectStart", "connectEnd"));
+            phases.put("ssl", phase("sslStart", "sslEnd"));
+            phases.put("send", phase("sendStart", "sendEnd"));
+            phases.put("wait", round(waitMillis()));
+            phases.put("receive", round(Math.max(0, total - offset - number(timing.get("receiveHeadersEnd")))));
+            return phases;
+        }
+
+        double waitMillis() {
+            return timing == null ? 0 : Math.max(0, number(timing.get("receiveHeadersEnd")) - number(timing.get("sendEnd")));
+        }
+
+        private double phase(String start, String end) {
+            double from = number(timing.get(start));
+            double to = number(timing.get(end));
+            return from < 0 || to < 0 ? -1 : round(to - from);
+        }
+
+        private double firstMark(String... marks) {
+            for (String mark : marks) {
+                double value = number(timing.get(mark));
+                if (value >= 0) {
+                    return value;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final List<Double> totals = new ArrayList<>();
+        private final List<Double> waits = new ArrayList<>();
+        private int failed;
+
+        void add(double total, double wait, boolean failure) {
+            totals.add(total);
+            waits.add(wait);
+            failed += failure ? 1 : 0;
+        }
+
+        String format() {
+            totals.sort(null);
+            waits.sort(null);
+            return totals.size() + "\t" + failed + "\t" + round(percentile(totals, 0.50)) + "\t" + round(percentile(totals, 0.95))
+                + "\t" + round(totals.get(totals.size() - 1)) + "\t" + round(percentile(waits, 0.50));
+        }
+
+        private static double percentile(List<Double> sorted, double p) {
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.network;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.driver.CdpEvents;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies a {@link NetworkProfile} to one browser session through CDP and times the page steps run under it.
+ * The session can be cut off once a given step has finished, to see how the checkout copes with a connection
+ * that drops halfway. Closing restores normal network conditions, so a pooled session can be reused.
+ */
+public final class NetworkEmulation implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkEmulation.class);
+    private static final Map<WebDriver, NetworkEmulation> active = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final CdpEvents cdp;
+    private final NetworkProfile profile;
+    private final String offlineAfter;
+    private final boolean proxied;
+    /** Page step to the total time spent in it, in order of first appearance. */
+    private final Map<String, Long> stepNanos = new LinkedHashMap<>();
+    private String step;
+    private long stepStart;
+    private boolean offline;
+
+    private NetworkEmulation(WebDriver driver, NetworkProfile profile, String offlineAfter, boolean proxied) {
+        this.driver = driver;
+        this.profile = profile;
+        this.offlineAfter = offlineAfter == null || offlineAfter.isBlank() ? null : offlineAfter;
+        this.proxied = proxied;
+        // Timing alone needs no DevTools connection.
+        this.cdp = emulating() ? CdpEvents.of(driver) : null;
+    }
+
+    /**
+     * Starts emulating the profile in the session.
+     * @param driver A Chromium session.
+     * @param profile The conditions to apply; {@link NetworkProfile#UNTHROTTLED} only times the steps.
+     * @param offlineAfter The page step after which the session goes offline, e.g. {@code selectBank};
+     *                     null or blank to stay online.
+     * @param proxied true if the session's requests also pass a proxy that delays or drops them.
+     * @return The running emulation; close it to restore the network.
+     */
+    public static NetworkEmulation start(WebDriver driver, NetworkProfile profile, String offlineAfter, boolean proxied) {
+        NetworkEmulation emulation = new NetworkEmulation(driver, profile, offlineAfter, proxied);
+        if (emulation.emulating()) {
+            emulation.cdp.send("Network.enable", Map.of());
+            emulation.cdp.send("Network.emulateNetworkConditions", profile.conditions(false));
+        }
+        active.put(driver, emulation);
+        return emulation;
+    }
+
+    /**
+     * Tells the session's emulation, if any, which page step is running now.
+     * @param driver The session the step runs in.
+     * @param step The page-object method, e.g. {@code fillCustomerInformation}.
+     */
+    public static void onStep(WebDriver driver, String step) {
+        NetworkEmulation emulation = active.get(driver);
+        if (emulation != null) {
+            emulation.enter(step);
+        }
+    }
+
+    /**
+     * @param driver A session.
+     * @return true if the session is being emulated or timed; lets callers skip computing the step name.
+     */
+    public static boolean isActive(WebDriver driver) {
+        return active.containsKey(driver);
+    }
+
+    /**
+     * @param driver A session.
+     * @return true if the session's network is slower or less reliable than normal, by emulation or a proxy.
+     */
+    public static boolean isThrottled(WebDriver driver) {
+        NetworkEmulation emulation = active.get(driver);
+        return emulation != null && (emulation.emulating() || emulation.proxied);
+    }
+
+    /**
+     * @return The emulated profile.
+     */
+    public NetworkProfile profile() {
+        return profile;
+    }
+
+    private boolean emulating() {
+        return !profile.isUnthrottled() || offlineAfter != null;
+    }
+
+    private synchronized void enter(String next) {
+        if (next.equals(step)) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (step != null) {
+            stepNanos.merge(step, now - stepStart, Long::sum);
+            if (step.equals(offlineAfter) && !offline) {
+                offline = true;
+                logger.info("Taking the session offline after step {}", step);
+                cdp.send("Network.emulateNetworkConditions", profile.conditions(true));
+            }
+        }
+        step = next;
+        stepStart = now;
+    }
+
+    /**
+     * @return Milliseconds spent in each page step so far, in the order the steps first ran.
+     */
+    public synchronized Map<String, Long> stepMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        stepNanos.forEach((name, nanos) -> millis.put(name, nanos / 1_000_000));
+        if (step != null) {
+            millis.merge(step, (System.nanoTime() - stepStart) / 1_000_000, Long::sum);
+        }
+        return Collections.unmodifiableMap(millis);
+    }
+
+    /**
+     * Stops timing and restores normal network conditions.
+     */
+    @Override
+    public void close() {
+        active.remove(driver, this);
+        if (!emulating()) {
+            return;
+        }
+        try {
+            cdp.send("Network.emulateNetworkConditions", NetworkProfile.UNTHROTTLED.conditions(false));
+        } catch (RuntimeException e) {
+            logger.debug("Could not restore network conditions: {}", e.toString());
+        }
+    }
+}
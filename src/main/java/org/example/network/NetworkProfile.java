@@ -0,0 +1,63 @@
+package org.example.network;
+
+import java.util.Map;
+
+/**
+ * Named network conditions for checkout runs, modelled on Chrome DevTools' throttling presets.
+ * Latency and throughput are applied by the browser through CDP {@code Network.emulateNetworkConditions}
+ * (see {@link NetworkEmulation}). CDP's own packet loss setting only affects WebRTC, so the failure rate is
+ * applied by {@link org.example.stub.LatencyProxy}, which drops that share of requests instead.
+ * Going offline partway through a checkout is not a profile of its own; any profile can be combined with an
+ * offline-after step.
+ */
+public enum NetworkProfile {
+    UNTHROTTLED(0, -1, -1, 0),
+    FAST_4G(165, 1_012_500, 168_750, 0),
+    SLOW_3G(2000, 50_000, 50_000, 0),
+    HIGH_LATENCY_LOSSY(600, 93_750, 31_250, 0.03);
+
+    private final long latencyMillis;
+    private final long downloadBytesPerSecond;
+    private final long uploadBytesPerSecond;
+    private final double failureRate;
+
+    NetworkProfile(long latencyMillis, long downloadBytesPerSecond, long uploadBytesPerSecond, double failureRate) {
+        this.latencyMillis = latencyMillis;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * @return The round-trip latency added to every request.
+     */
+    public long latencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * @return The share of requests, 0 to 1, that the latency proxy drops.
+     */
+    public double failureRate() {
+        return failureRate;
+    }
+
+    /**
+     * @return true if the browser needs no emulation for this profile.
+     */
+    public boolean isUnthrottled() {
+        return latencyMillis == 0 && downloadBytesPerSecond < 0 && uploadBytesPerSecond < 0;
+    }
+
+    /**
+     * @param offline true to cut the network entirely.
+     * @return Parameters for CDP {@code Network.emulateNetworkConditions}.
+     */
+    Map<String, Object> conditions(boolean offline) {
+        return Map.of(
+            "offline", offline,
+            "latency", latencyMillis,
+            "downloadThroughput", downloadBytesPerSecond,
+            "uploadThroughput", uploadBytesPerSecond);
+    }
+}
@@ -0,0 +1,252 @@
+package org.example.network;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.example.driver.CdpEvents;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a browser session from loading assets the checkout checks don't need, by {@link BlockingRule}.
+ * <p>
+ * In {@link Mode#BLOCK}, CDP {@code Fetch} pauses only the requests that some deny rule could match (by resource
+ * type and URL pattern), so scripts, documents and API calls are never held up. Each paused request is then
+ * failed as blocked by the client, or continued if an earlier allow rule matches it. The bytes saved are
+ * estimated from {@link AssetSizes}.
+ * <p>
+ * In {@link Mode#MEASURE}, nothing is blocked. The session's {@code Network} events are watched instead, and the
+ * transfer size of every request the rules would block is recorded in {@link AssetSizes}. The summary then
+ * shows what blocking would save. Selenium handles CDP events on a thread pool, so a request's end can be
+ * handled before its start; recent ends are kept for a while and matched when the start shows up.
+ */
+public final class RequestBlocker implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RequestBlocker.class);
+    private static final int EARLY_ENDS = 256;
+
+    /**
+     * What a {@link RequestBlocker} does with the requests its rules deny.
+     */
+    public enum Mode {
+        BLOCK,
+        MEASURE
+    }
+
+    /**
+     * Requests blocked, or that would have been, and their bytes.
+     * @param requests Number of requests.
+     * @param bytes Transfer size; for blocked requests, only of those with a measured size.
+     * @param unmeasured Blocked requests whose size was never measured.
+     */
+    public record Saved(long requests, long bytes, long unmeasured) {
+        public static final Saved NONE = new Saved(0, 0, 0);
+
+        /**
+         * @param bytes The request's size, or -1 if unknown.
+         */
+        static Saved of(long bytes) {
+            return bytes < 0 ? new Saved(1, 0, 1) : new Saved(1, bytes, 0);
+        }
+
+        /**
+         * @return The sum of both.
+         */
+        public Saved plus(Saved other) {
+            return new Saved(requests + other.requests, bytes + other.bytes, unmeasured + other.unmeasured);
+        }
+    }
+
+    private final CdpEvents cdp;
+    private final Mode mode;
+    private final List<BlockingRule> rules;
+    private final AssetSizes sizes;
+    private final List<AutoCloseable> subscriptions = new ArrayList<>();
+    /** Resource type to what was saved on it. */
+    private final Map<String, Saved> saved = new TreeMap<>();
+    /** In MEASURE mode, requests the rules would block that are still loading, by request id. */
+    private final Map<String, Pending> pending = new HashMap<>();
+    /**
+     * In MEASURE mode, the sizes of requests whose end was handled before their start, -1 for failed ones.
+     * Most belong to requests no rule blocks, so only the latest are kept.
+     */
+    private final Map<String, Long> endedEarly = new LinkedHashMap<>(64, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > EARLY_ENDS;
+        }
+    };
+    /** In MEASURE mode, sizes measured in this session. */
+    private final Map<String, Long> measured = new LinkedHashMap<>();
+
+    private RequestBlocker(WebDriver driver, Mode mode, List<BlockingRule> rules, AssetSizes sizes) {
+        this.cdp = CdpEvents.of(driver);
+        this.mode = mode;
+        this.rules = List.copyOf(rules);
+        this.sizes = sizes;
+    }
+
+    /**
+     * Starts blocking or measuring in the session.
+     * @param driver A Chromium session.
+     * @param mode Whether to block requests or only measure them.
+     * @param rules The rules, first match wins.
+     * @param sizes Where asset sizes are looked up and, when measuring, recorded.
+     * @return The running blocker; close it to stop.
+     */
+    public static RequestBlocker start(WebDriver driver, Mode mode, List<BlockingRule> rules, AssetSizes sizes) {
+        RequestBlocker blocker = new RequestBlocker(driver, mode, rules, sizes);
+        try {
+            if (mode == Mode.BLOCK) {
+                blocker.subscriptions.add(blocker.cdp.subscribe("Fetch.requestPaused", blocker::onPaused));
+                blocker.cdp.send("Fetch.enable", Map.of("patterns", blocker.fetchPatterns()));
+            } else {
+                blocker.subscriptions.add(blocker.cdp.subscribe("Network.requestWillBeSent", blocker::onRequest));
+                blocker.subscriptions.add(blocker.cdp.subscribe("Network.loadingFinished", blocker::onFinished));
+                blocker.subscriptions.add(blocker.cdp.subscribe("Network.loadingFailed", blocker::onFailed));
+                blocker.cdp.send("Network.enable", Map.of());
+            }
+            return blocker;
+        } catch (RuntimeException e) {
+            blocker.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Fetch patterns for the deny rules, so requests no rule can block are never paused.
+     */
+    private List<Map<String, Object>> fetchPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (BlockingRule rule : rules) {
+            if (rule.allow()) {
+                continue;
+            }
+            Map<String, Object> pattern = new HashMap<>();
+            pattern.put("urlPattern", rule.urlPattern());
+            pattern.put("requestStage", "Request");
+            if (!"*".equals(rule.resourceType())) {
+                pattern.put("resourceType", rule.resourceType());
+            }
+            patterns.add(pattern);
+        }
+        return patterns;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPaused(Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        String url = (String) ((Map<String, Object>) params.get("request")).get("url");
+        String type = (String) params.get("resourceType");
+        if (BlockingRule.blocks(rules, type, url)) {
+            cdp.send("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient"));
+            synchronized (this) {
+                saved.merge(type, Saved.of(sizes.bytesOf(url)), Saved::plus);
+            }
+            logger.trace("Blocked {} {}", type, url);
+        } else {
+            cdp.send("Fetch.continueRequest", Map.of("requestId", requestId));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onRequest(Map<String, Object> params) {
+        String url = (String) ((Map<String, Object>) params.get("request")).get("url");
+        String type = (String) params.get("type");
+        if (!BlockingRule.blocks(rules, type, url)) {
+            return;
+        }
+        String requestId = (String) params.get("requestId");
+        Long bytes = endedEarly.remove(requestId);
+        if (bytes == null) {
+            pending.put(requestId, new Pending(url, type));
+        } else if (bytes >= 0) {
+            measure(new Pending(url, type), bytes);
+        }
+    }
+
+    private synchronized void onFinished(Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        long bytes = ((Number) params.get("encodedDataLength")).longValue();
+        Pending request = pending.remove(requestId);
+        if (request == null) {
+            endedEarly.put(requestId, bytes);
+        } else {
+            measure(request, bytes);
+        }
+    }
+
+    private synchronized void onFailed(Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        if (pending.remove(requestId) == null) {
+            endedEarly.put(requestId, -1L);
+        }
+    }
+
+    private void measure(Pending request, long bytes) {
+        measured.put(request.url(), bytes);
+        saved.merge(request.type(), Saved.of(bytes), Saved::plus);
+    }
+
+    /**
+     * @return The mode the blocker runs in.
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * @return What was saved, or would have been when measuring, per resource type.
+     */
+    public synchronized Map<String, Saved> saved() {
+        return Collections.unmodifiableMap(new TreeMap<>(saved));
+    }
+
+    /**
+     * @return The totals over all resource types.
+     */
+    public synchronized Saved total() {
+        return saved.values().stream().reduce(Saved.NONE, Saved::plus);
+    }
+
+    /**
+     * Stops intercepting and, when measuring, records the measured sizes.
+     */
+    @Override
+    public void close() {
+        for (AutoCloseable subscription : subscriptions) {
+            try {
+                subscription.close();
+            } catch (Exception e) {
+                logger.debug("Could not remove CDP handler: {}", e.toString());
+            }
+        }
+        subscriptions.clear();
+        try {
+            if (mode == Mode.BLOCK) {
+                cdp.send("Fetch.disable", Map.of());
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not disable request interception: {}", e.toString());
+        }
+        Map<String, Long> sessionSizes;
+        synchronized (this) {
+            sessionSizes = new LinkedHashMap<>(measured);
+            measured.clear();
+        }
+        try {
+            sizes.append(sessionSizes);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not record asset sizes in {}: {}", AssetSizes.FILE, e.toString());
+        }
+    }
+
+    private record Pending(String url, String type) {
+    }
+}
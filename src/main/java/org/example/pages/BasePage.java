@@ -1,56 +1,316 @@
 package org.example.pages;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.example.artifacts.FailureArtifacts;
+import org.example.driver.DriverRegistry;
+import org.example.jfr.PageActionEvent;
+import org.example.jfr.StepContext;
+import org.example.network.NetworkCapture;
+import org.example.network.NetworkEmulation;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Base page object. The only state shared between instances is the thread-safe {@link LocatorTimeouts},
+ * so pages can be constructed concurrently from parallel test threads as long as each thread uses its own driver.
+ */
 public class BasePage {
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
     protected static final Duration WAIT_TIMEOUT = Duration.ofSeconds(15);
+
+    /**
+     * Runs batched form actions from {@code arguments[1]} onwards and stops at the first one that needs
+     * native events: the element is missing or hidden, the locator can't be evaluated in the page,
+     * or the field rejected the value (e.g. an input mask reformatted it).
+     * Values are set through the prototype setter and followed by input/change events so that
+     * React-controlled inputs pick them up.
+     */
+    private static final String BATCH_SCRIPT = ElementWaiter.LOCATE_FUNCTIONS + """
+        var ops = arguments[0];
+        for (var i = arguments[1]; i < ops.length; i++) {
+          var op = ops[i];
+          if (op.type === 'unsupported') return {index: i, status: 'unsupported locator'};
+          var el = find(op.type, op.value);
+          if (!visible(el)) return {index: i, status: 'not visible'};
+          if (op.action === 'click') {
+            el.scrollIntoView({block: 'center'});
+            el.click();
+            continue;
+          }
+          var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+            : el instanceof HTMLInputElement ? HTMLInputElement.prototype : null;
+          if (proto === null) return {index: i, status: 'not a text field'};
+          var setValue = Object.getOwnPropertyDescriptor(proto, 'value').set;
+          el.focus();
+          setValue.call(el, '');
+          el.dispatchEvent(new Event('input', {bubbles: true}));
+          setValue.call(el, op.text);
+          el.dispatchEvent(new Event('input', {bubbles: true}));
+          el.dispatchEvent(new Event('change', {bubbles: true}));
+          el.blur();
+          if (el.value !== op.text) return {index: i, status: 'value rejected'};
+        }
+        return {index: ops.length, status: 'done'};
+        """;
     
     protected final WebDriver driver;
     protected final WebDriverWait wait;
+    private final ElementWaiter waiter;
+    private final FrameContext frames;
+    private final LocatorTimeouts timeouts = LocatorTimeouts.shared();
     
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, WAIT_TIMEOUT);
+        this.waiter = new ElementWaiter(driver);
+        this.frames = new FrameContext(driver);
+    }
+
+    /**
+     * Creates a page bound to the driver of the current thread.
+     * @see DriverRegistry#current()
+     */
+    public BasePage() {
+        this(DriverRegistry.current());
     }
     
+    /**
+     * Tells which frame an element lives in. Element waits and interactions switch to that frame first,
+     * and only when the driver isn't already there.
+     * @param locator An element locator.
+     * @return The locator of the {@code <iframe>} holding the element, or null for the top-level document.
+     */
+    protected By frameOf(By locator) {
+        return null;
+    }
+
+    /**
+     * Focuses the given frame (null for the top-level document) unless it is focused already.
+     */
+    protected void switchToFrame(By frame) {
+        frames.enter(frame, this::locateFrame);
+    }
+
+    /**
+     * Forgets the tracked frame focus. Call after anything that puts the driver back on the top-level
+     * document behind the page's back, such as {@code driver.get()}.
+     */
+    protected void resetFrameContext() {
+        frames.reset();
+    }
+
+    /**
+     * Attributes the requests that follow to the running page step, when the session's network is captured,
+     * and times the step when its network is emulated.
+     */
+    protected void markNetworkStep() {
+        if (NetworkCapture.isCapturing(driver) || NetworkEmulation.isActive(driver)) {
+            String step = StepContext.currentStep();
+            NetworkCapture.markStep(driver, step);
+            NetworkEmulation.onStep(driver, step);
+        }
+    }
+
+    private WebElement locateFrame(By frame) {
+        return waitForPresenceAndGetElement(frame);
+    }
+
+    /**
+     * Waits for the element to become visible. The timeout is learned per locator from earlier waits
+     * (see {@link LocatorTimeouts}) and is at most {@link #WAIT_TIMEOUT}. Under throttled network
+     * conditions the wait gets the full {@link #WAIT_TIMEOUT} and isn't learned from, since what was
+     * learned describes the normal network.
+     */
     protected WebElement waitForVisibilityAndGetElement(By locator) {
+        markNetworkStep();
+        switchToFrame(frameOf(locator));
+        boolean throttled = NetworkEmulation.isThrottled(driver);
+        Duration timeout = throttled ? WAIT_TIMEOUT : timeouts.timeoutFor(locator, WAIT_TIMEOUT);
+        PageActionEvent event = PageActionEvent.start();
+        Exception failure = null;
+        long start = System.nanoTime();
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            WebElement element = waiter.waitForVisible(locator, timeout);
+            if (!throttled) {
+                timeouts.record(locator, System.nanoTime() - start);
+            }
+            return element;
         } catch (Exception e) {
-            logger.error("Element not visible after timeout: {}", locator);
+            failure = e;
+            logger.error("Element not visible after {} ms timeout: {}", timeout.toMillis(), locator);
+            FailureArtifacts.capture(driver, "visibility of " + locator, e);
             throw e;
+        } finally {
+            event.complete("waitForVisibility", locator, failure);
+        }
+    }
+
+    protected WebElement waitForPresenceAndGetElement(By locator) {
+        markNetworkStep();
+        switchToFrame(frameOf(locator));
+        boolean throttled = NetworkEmulation.isThrottled(driver);
+        Duration timeout = throttled ? WAIT_TIMEOUT : timeouts.timeoutFor(locator, WAIT_TIMEOUT);
+        PageActionEvent event = PageActionEvent.start();
+        Exception failure = null;
+        long start = System.nanoTime();
+        try {
+            WebElement element = waiter.waitForPresence(locator, timeout);
+            if (!throttled) {
+                timeouts.record(locator, System.nanoTime() - start);
+            }
+            return element;
+        } catch (Exception e) {
+            failure = e;
+            logger.error("Element not present after {} ms timeout: {}", timeout.toMillis(), locator);
+            FailureArtifacts.capture(driver, "presence of " + locator, e);
+            throw e;
+        } finally {
+            event.complete("waitForPresence", locator, failure);
         }
     }
     
+    /**
+     * Checks whether an element becomes visible within a short timeout, without logging a failure.
+     * @param locator The element to look for.
+     * @param timeout How long to wait.
+     * @return true if the element became visible in time.
+     */
+    protected boolean isVisibleWithin(By locator, Duration timeout) {
+        try {
+            switchToFrame(frameOf(locator));
+            waiter.waitForVisible(locator, timeout);
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts a set of expectations that are checked together on DOM snapshots, one script call per attempt,
+     * instead of a wait and a lookup per assertion.
+     * @return An empty check; add expectations and call {@link SnapshotCheck#within(Duration)}.
+     */
+    public SnapshotCheck verify() {
+        return new SnapshotCheck(driver, locator -> switchToFrame(frameOf(locator)));
+    }
+
     protected void clickElement(By locator) {
+        PageActionEvent event = PageActionEvent.start();
+        Exception failure = null;
+        long start = System.nanoTime();
         try {
             WebElement element = waitForVisibilityAndGetElement(locator);
             element.click();
-            logger.info("Clicked element: {}", locator);
+            logger.info("Clicked element: {} ({} ms, {} wait)", locator, elapsedMillis(start), ElementWaiter.STRATEGY);
         } catch (Exception e) {
+            failure = e;
             logger.error("Failed to click element: {}", locator, e);
+            FailureArtifacts.capture(driver, "click " + locator, e);
             throw e;
+        } finally {
+            event.complete("click", locator, failure);
         }
     }
     
     protected void sendKeysToElement(By locator, String text) {
+        PageActionEvent event = PageActionEvent.start();
+        Exception failure = null;
+        long start = System.nanoTime();
         try {
             WebElement element = waitForVisibilityAndGetElement(locator);
             element.clear();
             element.sendKeys(text);
-            logger.info("Entered text '{}' into element: {}", text, locator);
+            logger.info("Entered text '{}' into element: {} ({} ms, {} wait)", text, locator, elapsedMillis(start), ElementWaiter.STRATEGY);
         } catch (Exception e) {
+            failure = e;
             logger.error("Failed to enter text into element: {}", locator, e);
+            FailureArtifacts.capture(driver, "send keys " + locator, e);
             throw e;
+        } finally {
+            event.complete("sendKeys", locator, failure);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Performs a list of form actions in as few round trips as possible.
+     * Consecutive actions in the same frame run inside a single script execution; an action the script can't
+     * complete is retried with native WebDriver events, after which batching resumes with the next action.
+     * Actions in different frames are batched separately, each after switching to its own frame.
+     * @param actions The actions to perform, in order.
+     */
+    protected void performBatch(List<FormAction> actions) {
+        if (actions.isEmpty()) {
+            return;
+        }
+        markNetworkStep();
+        long start = System.nanoTime();
+        int roundTrips = 0;
+        int from = 0;
+        while (from < actions.size()) {
+            By frame = frameOf(actions.get(from).locator());
+            int to = from + 1;
+            while (to < actions.size() && Objects.equals(frameOf(actions.get(to).locator()), frame)) {
+                to++;
+            }
+            roundTrips += performInFrame(frame, actions.subList(from, to));
+            from = to;
+        }
+        logger.info("Performed {} batched actions in {} round trips ({} ms)", actions.size(), roundTrips, elapsedMillis(start));
+    }
+
+    /**
+     * Runs the batch script for actions that all live in one frame.
+     * @return The number of round trips it took.
+     */
+    private int performInFrame(By frame, List<FormAction> actions) {
+        List<Map<String, Object>> ops = new ArrayList<>(actions.size());
+        for (FormAction action : actions) {
+            ops.add(action.toScriptArgument());
+        }
+        int roundTrips = 0;
+        int next = 0;
+        while (next < actions.size()) {
+            // A native fallback may have left the frame; switching back is free when it didn't.
+            switchToFrame(frame);
+            roundTrips++;
+            int stoppedAt;
+            Object status;
+            try {
+                Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, ops, next);
+                stoppedAt = ((Number) result.get("index")).intValue();
+                status = result.get("status");
+            } catch (WebDriverException e) {
+                stoppedAt = next;
+                status = e.getClass().getSimpleName();
+            }
+            if (stoppedAt >= actions.size()) {
+                break;
+            }
+            FormAction action = actions.get(stoppedAt);
+            logger.debug("Batch fell back to native events for {} ({})", action, status);
+            if (action.isClick()) {
+                clickElement(action.locator());
+            } else {
+                sendKeysToElement(action.locator(), action.text());
+            }
+            roundTrips++;
+            next = stoppedAt + 1;
         }
+        return roundTrips;
     }
-} 
\ No newline at end of file
+}
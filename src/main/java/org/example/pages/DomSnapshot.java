@@ -0,0 +1,198 @@
+package org.example.pages;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A copy of the current frame's DOM, taken in one script call and queried in the JVM.
+ * Locators are evaluated with the JDK's XPath 1.0 engine, the same language the page's own XPath uses,
+ * so the page objects' XPath locators work unchanged. {@code By.id} and {@code By.name} are translated;
+ * CSS selectors are not supported.
+ * <p>
+ * The copy keeps what assertions need from the live page: elements that aren't displayed are marked,
+ * form fields carry their current value and checked state, and script and style bodies are dropped.
+ * Text is the whitespace-collapsed text of displayed descendants, close to what {@code getText()} returns.
+ */
+public final class DomSnapshot {
+    private static final String HIDDEN = "data-snapshot-hidden";
+
+    private static final String SNAPSHOT_SCRIPT = ElementWaiter.LOCATE_FUNCTIONS + """
+        var live = document.documentElement.getElementsByTagName('*');
+        var copy = document.documentElement.cloneNode(true);
+        var copies = copy.getElementsByTagName('*');
+        for (var i = 0; i < live.length; i++) {
+          var el = live[i], c = copies[i];
+          if (!visible(el)) c.setAttribute('data-snapshot-hidden', '');
+          if (el instanceof HTMLInputElement || el instanceof HTMLTextAreaElement || el instanceof HTMLSelectElement) {
+            c.setAttribute('value', el.value);
+            if (el.checked) c.setAttribute('checked', '');
+          }
+          if (el instanceof HTMLScriptElement || el instanceof HTMLStyleElement) c.textContent = '';
+        }
+        return new XMLSerializer().serializeToString(copy);
+        """;
+
+    private static final DocumentBuilderFactory PARSERS = DocumentBuilderFactory.newInstance();
+
+    static {
+        try {
+            PARSERS.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (ParserConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Document document;
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+
+    private DomSnapshot(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * Copies the DOM of the frame the driver is focused on.
+     * @param driver The session to copy from.
+     * @return The parsed copy.
+     */
+    public static DomSnapshot capture(WebDriver driver) {
+        String markup = (String) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        return parse(markup);
+    }
+
+    static DomSnapshot parse(String markup) {
+        try {
+            // Parsed without namespaces, so unprefixed XPath steps match the XHTML elements.
+            Document document;
+            synchronized (PARSERS) {
+                document = PARSERS.newDocumentBuilder().parse(new InputSource(new StringReader(markup)));
+            }
+            return new DomSnapshot(document);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new IllegalStateException("Could not parse DOM snapshot", e);
+        }
+    }
+
+    /**
+     * @return Every element matching the locator, in document order.
+     */
+    public List<Element> findAll(By locator) {
+        try {
+            NodeList nodes = (NodeList) xpath.evaluate(toXPath(locator), document, XPathConstants.NODESET);
+            List<Element> elements = new ArrayList<>(nodes.getLength());
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element) {
+                    elements.add((Element) nodes.item(i));
+                }
+            }
+            return elements;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Locator can't be evaluated on a snapshot: " + locator, e);
+        }
+    }
+
+    /**
+     * @return The first displayed element matching the locator, or null.
+     */
+    public Element findVisible(By locator) {
+        for (Element element : findAll(locator)) {
+            if (!element.hasAttribute(HIDDEN)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if an element matching the locator is displayed.
+     */
+    public boolean isVisible(By locator) {
+        return findVisible(locator) != null;
+    }
+
+    /**
+     * @return The displayed text of the first displayed match, or null if there is none.
+     */
+    public String text(By locator) {
+        Element element = findVisible(locator);
+        return element == null ? null : text(element);
+    }
+
+    /**
+     * @return The attribute of the first match, or null if there is no match or it has no such attribute.
+     *         Form fields report their current {@code value}.
+     */
+    public String attribute(By locator, String name) {
+        List<Element> elements = findAll(locator);
+        if (elements.isEmpty() || !elements.get(0).hasAttribute(name)) {
+            return null;
+        }
+        return elements.get(0).getAttribute(name);
+    }
+
+    /**
+     * @return The whitespace-collapsed text of the element's displayed descendants.
+     */
+    public static String text(Element element) {
+        StringBuilder text = new StringBuilder();
+        appendText(element, text);
+        return text.toString().replaceAll("[\\s\\u00a0]+", " ").trim();
+    }
+
+    private static void appendText(Node node, StringBuilder text) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                text.append(child.getNodeValue());
+            } else if (child instanceof Element && !((Element) child).hasAttribute(HIDDEN)) {
+                appendText(child, text);
+            }
+        }
+    }
+
+    static String toXPath(By locator) {
+        String[] query = ElementWaiter.toQuery(locator);
+        if (query == null || query[0].equals("css")) {
+            throw new IllegalArgumentException("Snapshot checks support id, name and xpath locators, not " + locator);
+        }
+        switch (query[0]) {
+            case "id":
+                return "//*[@id=" + literal(query[1]) + "]";
+            case "name":
+                return "//*[@name=" + literal(query[1]) + "]";
+            default:
+                return query[1];
+        }
+    }
+
+    /**
+     * Quotes a value as an XPath string literal.
+     */
+    private static String literal(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.pages;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Waits for elements by registering a MutationObserver in the page, so a wait resolves
+ * as soon as the DOM change happens instead of on the next 500 ms polling tick.
+ * Falls back to short-interval polling when the locator can't be evaluated in the page
+ * or the script fails (e.g. the document unloads mid-wait).
+ *
+ * <p>{@code -Dwait.strategy=polling} restores the plain {@link WebDriverWait} behaviour for comparison.
+ */
+final class ElementWaiter {
+    private static final Logger logger = LoggerFactory.getLogger(ElementWaiter.class);
+    private static final Duration FALLBACK_POLL_INTERVAL = Duration.ofMillis(50);
+
+    enum Strategy { OBSERVER, POLLING }
+
+    static final Strategy STRATEGY = Strategy.valueOf(
+        System.getProperty("wait.strategy", "observer").toUpperCase(Locale.ROOT));
+
+    /**
+     * Shared in-page helpers: {@code find(type, value)} returns the first match for a locator
+     * (see {@link #toQuery(By)}) and {@code visible(el)} mirrors WebDriver's displayed check.
+     */
+    static final String LOCATE_FUNCTIONS = """
+        function find(type, value) {
+          switch (type) {
+            case 'id': return document.getElementById(value);
+            case 'css': return document.querySelector(value);
+            case 'name': return document.getElementsByName(value)[0] || null;
+            case 'xpath': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+          }
+          return null;
+        }
+        function visible(el) {
+          if (!el) return false;
+          var style = window.getComputedStyle(el);
+          if (style.visibility === 'hidden' || style.visibility === 'collapse' || style.opacity === '0') return false;
+          return el.getClientRects().length > 0;
+        }
+        """;
+
+    /**
+     * Resolves with the first element matching the locator once it is present (and visible, if required),
+     * or with null when the timeout passes. Re-checks on every DOM mutation, plus a 100 ms tick to catch
+     * style-only transitions that don't mutate the DOM.
+     */
+    private static final String OBSERVER_SCRIPT = LOCATE_FUNCTIONS + """
+        var type = arguments[0], value = arguments[1], requireVisible = arguments[2], timeoutMs = arguments[3];
+        var done = arguments[arguments.length - 1];
+        function ready(el) {
+          return requireVisible ? visible(el) : el !== null;
+        }
+        var first = find(type, value);
+        if (ready(first)) { done(first); return; }
+        var finished = false, observer, tick, timer;
+        function finish(result) {
+          if (finished) return;
+          finished = true;
+          observer.disconnect();
+          clearInterval(tick);
+          clearTimeout(timer);
+          done(result);
+        }
+        function check() {
+          var el = find(type, value);
+          if (ready(el)) finish(el);
+        }
+        observer = new MutationObserver(check);
+        observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+        tick = setInterval(check, 100);
+        timer = setTimeout(function () { finish(null); }, timeoutMs);
+        """;
+
+    private final WebDriver driver;
+
+    ElementWaiter(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    WebElement waitForVisible(By locator, Duration timeout) {
+        return await(locator, timeout, true);
+    }
+
+    WebElement waitForPresence(By locator, Duration timeout) {
+        return await(locator, timeout, false);
+    }
+
+    private WebElement await(By locator, Duration timeout, boolean requireVisible) {
+        if (STRATEGY == Strategy.POLLING) {
+            return new WebDriverWait(driver, timeout).until(requireVisible
+                ? ExpectedConditions.visibilityOfElementLocated(locator)
+                : ExpectedConditions.presenceOfElementLocated(locator));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String[] query = toQuery(locator);
+        if (query != null && driver instanceof JavascriptExecutor) {
+            try {
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                    OBSERVER_SCRIPT, query[0], query[1], requireVisible, timeout.toMillis());
+                if (result instanceof WebElement) {
+                    return (WebElement) result;
+                }
+                throw new TimeoutException("Expected condition failed: waiting for "
+                    + (requireVisible ? "visibility" : "presence") + " of element located by " + locator
+                    + " (tried for " + timeout.toMillis() + " ms)");
+            } catch (TimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                logger.debug("Observer wait failed for {}, falling back to polling", locator, e);
+            }
+        }
+        Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+        WebDriverWait fallback = new WebDriverWait(driver, remaining, FALLBACK_POLL_INTERVAL);
+        return fallback.until(requireVisible
+            ? ExpectedConditions.visibilityOfElementLocated(locator)
+            : ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    /**
+     * Translates a locator into a (type, value) pair the observer script understands.
+     * @return null for locator types the script can't evaluate.
+     */
+    static String[] toQuery(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return null;
+        }
+        String value = description.substring(separator + 2);
+        switch (description.substring(0, separator)) {
+            case "By.id":
+                return new String[] {"id", value};
+            case "By.cssSelector":
+                return new String[] {"css", value};
+            case "By.name":
+                return new String[] {"name", value};
+            case "By.xpath":
+                return new String[] {"xpath", value};
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.pages;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Browser state captured at a checkout page boundary: URL, cookies and web storage of the top-level page.
+ * Form field contents and in-memory page state are not captured, which is why snapshots are only
+ * taken right after a navigation.
+ */
+final class FlowSnapshot {
+    private static final String CAPTURE_SCRIPT = """
+        function dump(storage) {
+          var values = {};
+          for (var i = 0; i < storage.length; i++) {
+            var key = storage.key(i);
+            values[key] = storage.getItem(key);
+          }
+          return values;
+        }
+        return {url: location.href, origin: location.origin, local: dump(localStorage), session: dump(sessionStorage)};
+        """;
+
+    private static final String RESTORE_STORAGE_SCRIPT = """
+        var state = arguments[0];
+        localStorage.clear();
+        sessionStorage.clear();
+        Object.keys(state.local).forEach(function (key) { localStorage.setItem(key, state.local[key]); });
+        Object.keys(state.session).forEach(function (key) { sessionStorage.setItem(key, state.session[key]); });
+        """;
+
+    private final String url;
+    private final String origin;
+    private final Set<Cookie> cookies;
+    private final Map<String, Object> storage;
+
+    private FlowSnapshot(String url, String origin, Set<Cookie> cookies, Map<String, Object> storage) {
+        this.url = url;
+        this.origin = origin;
+        this.cookies = cookies;
+        this.storage = storage;
+    }
+
+    /**
+     * Captures the state of the current top-level page.
+     */
+    static FlowSnapshot capture(WebDriver driver) {
+        driver.switchTo().defaultContent();
+        Map<?, ?> page = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        Map<String, Object> storage = new HashMap<>();
+        storage.put("local", page.get("local"));
+        storage.put("session", page.get("session"));
+        return new FlowSnapshot((String) page.get("url"), (String) page.get("origin"),
+            Set.copyOf(driver.manage().getCookies()), storage);
+    }
+
+    /**
+     * Loads this state into the driver: opens the origin, replaces its cookies and storage with the captured ones,
+     * then navigates to the captured URL.
+     */
+    void restore(WebDriver driver) {
+        driver.switchTo().defaultContent();
+        driver.get(origin + "/");
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, storage);
+        driver.get(url);
+    }
+
+    String url() {
+        return url;
+    }
+}
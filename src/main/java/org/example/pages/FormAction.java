@@ -0,0 +1,69 @@
+package org.example.pages;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.openqa.selenium.By;
+
+/**
+ * A single step of a batched form interaction: type a value into a field or click an element.
+ * @see BasePage#performBatch(java.util.List)
+ */
+public final class FormAction {
+    private final By locator;
+    private final String text;
+
+    private FormAction(By locator, String text) {
+        this.locator = locator;
+        this.text = text;
+    }
+
+    /**
+     * @param locator The input or textarea to fill.
+     * @param text The value to enter; the field is cleared first.
+     * @return A typing action.
+     * @throws NullPointerException if {@code text} is null.
+     */
+    public static FormAction type(By locator, String text) {
+        return new FormAction(locator, Objects.requireNonNull(text, "text to type into " + locator));
+    }
+
+    /**
+     * @param locator The element to click.
+     * @return A click action.
+     */
+    public static FormAction click(By locator) {
+        return new FormAction(locator, null);
+    }
+
+    By locator() {
+        return locator;
+    }
+
+    boolean isClick() {
+        return text == null;
+    }
+
+    String text() {
+        return text;
+    }
+
+    /**
+     * Serializes the action for the batch script.
+     */
+    Map<String, Object> toScriptArgument() {
+        String[] query = ElementWaiter.toQuery(locator);
+        Map<String, Object> op = new HashMap<>();
+        op.put("type", query == null ? "unsupported" : query[0]);
+        op.put("value", query == null ? "" : query[1]);
+        op.put("action", isClick() ? "click" : "type");
+        op.put("text", isClick() ? "" : text);
+        return op;
+    }
+
+    @Override
+    public String toString() {
+        return isClick() ? "click " + locator : "type '" + text + "' into " + locator;
+    }
+}
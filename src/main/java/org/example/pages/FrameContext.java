@@ -0,0 +1,79 @@
+package org.example.pages;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks which frame the driver is focused on, so a page only switches when the next locator lives
+ * somewhere else. Frames are identified by the locator of their {@code <iframe>} element in the
+ * top-level document (one level of nesting, which is all the checkout uses); null means the top-level
+ * document. Frame elements are cached and re-located only once they have gone stale.
+ *
+ * <p>The tracked state is only correct if frames are switched through the page object, not
+ * {@code driver.switchTo()} directly. After navigating, call {@link #reset()}.
+ */
+final class FrameContext {
+    private static final Logger logger = LoggerFactory.getLogger(FrameContext.class);
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> handles = new HashMap<>();
+    private By current;
+
+    FrameContext(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Focuses the given frame, switching only if it isn't focused already.
+     * @param frame The frame's locator, or null for the top-level document.
+     * @param locate Finds the frame element in the top-level document (waiting for it if needed).
+     */
+    void enter(By frame, Function<By, WebElement> locate) {
+        if (Objects.equals(frame, current)) {
+            return;
+        }
+        if (current != null) {
+            driver.switchTo().defaultContent();
+            current = null;
+        }
+        if (frame == null) {
+            logger.debug("Switched to top-level document");
+            return;
+        }
+        WebElement handle = handles.get(frame);
+        if (handle != null) {
+            try {
+                driver.switchTo().frame(handle);
+                current = frame;
+                logger.debug("Switched to frame {} (cached element)", frame);
+                return;
+            } catch (StaleElementReferenceException | NoSuchFrameException e) {
+                handles.remove(frame);
+                driver.switchTo().defaultContent();
+            }
+        }
+        handle = locate.apply(frame);
+        driver.switchTo().frame(handle);
+        handles.put(frame, handle);
+        current = frame;
+        logger.debug("Switched to frame {}", frame);
+    }
+
+    /**
+     * Marks the top-level document as focused, e.g. after a navigation or a direct
+     * {@code switchTo().defaultContent()}. Cached frame elements are kept; stale ones are re-located on use.
+     */
+    void reset() {
+        current = null;
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.pages;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.example.stats.StatsFiles;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-locator wait timeouts learned from how long each locator took to appear in earlier runs.
+ * Wait durations are kept as log-scale histograms (one line per locator) in a stats file, and a
+ * locator's timeout is its 99th percentile times a safety factor, clamped to configured bounds.
+ * Locators without enough history keep the default timeout, so a new or renamed locator never
+ * fails early.
+ *
+ * <p>Configuration: {@code -Dtimeouts.adaptive} (default true), {@code -Dtimeouts.statsFile}
+ * (default {@code .stats/locator-timings.tsv}), {@code -Dtimeouts.factor} (3.0),
+ * {@code -Dtimeouts.minMs} (3000), {@code -Dtimeouts.maxMs} (the default timeout) and
+ * {@code -Dtimeouts.minSamples} (20). Samples are recorded even when adaptation is off, but not
+ * while the session's network is throttled; {@link BasePage} then waits the full default timeout.
+ */
+final class LocatorTimeouts {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorTimeouts.class);
+
+    /** Bucket i holds waits up to 10 ms * 2^(i/2); the last bucket is open-ended. */
+    private static final int BUCKETS = 24;
+    private static final double FIRST_BUCKET_MS = 10;
+    /** Histograms are halved once they pass this count, so recent runs outweigh old ones. */
+    private static final long DECAY_THRESHOLD = 2_000;
+
+    private static final LocatorTimeouts SHARED = createShared();
+
+    private final Path statsFile;
+    private final boolean adaptive;
+    private final double factor;
+    private final long minMillis;
+    private final long maxMillis;
+    private final int minSamples;
+    private final Map<String, long[]> history;
+    private final Map<String, AtomicLongArray> recorded = new ConcurrentHashMap<>();
+
+    LocatorTimeouts(Path statsFile, boolean adaptive, double factor, long minMillis, long maxMillis, int minSamples) {
+        this.statsFile = statsFile;
+        this.adaptive = adaptive;
+        this.factor = factor;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.minSamples = minSamples;
+        this.history = read(statsFile);
+    }
+
+    static LocatorTimeouts shared() {
+        return SHARED;
+    }
+
+    private static LocatorTimeouts createShared() {
+        LocatorTimeouts timeouts = new LocatorTimeouts(
+            Paths.get(System.getProperty("timeouts.statsFile", ".stats/locator-timings.tsv")),
+            Boolean.parseBoolean(System.getProperty("timeouts.adaptive", "true")),
+            Double.parseDouble(System.getProperty("timeouts.factor", "3.0")),
+            Long.getLong("timeouts.minMs", 3_000),
+            Long.getLong("timeouts.maxMs", BasePage.WAIT_TIMEOUT.toMillis()),
+            Integer.getInteger("timeouts.minSamples", 20));
+        Runtime.getRuntime().addShutdownHook(new Thread(timeouts::save, "locator-timings-save"));
+        return timeouts;
+    }
+
+    /**
+     * @param locator The locator about to be waited for.
+     * @param fallback Timeout used when adaptation is off or the locator has too little history.
+     * @return The timeout for this wait.
+     */
+    Duration timeoutFor(By locator, Duration fallback) {
+        if (!adaptive) {
+            return fallback;
+        }
+        long[] counts = merged(key(locator));
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total < minSamples) {
+            return fallback;
+        }
+        long target = (long) Math.ceil(total * 0.99);
+        long seen = 0;
+        int bucket = 0;
+        while (bucket < BUCKETS - 1 && (seen += counts[bucket]) < target) {
+            bucket++;
+        }
+        if (bucket == BUCKETS - 1) {
+            // The p99 lies in the open-ended bucket; there is no upper bound to learn from.
+            return fallback;
+        }
+        long millis = Math.round(upperBoundMillis(bucket) * factor);
+        return Duration.ofMillis(Math.max(minMillis, Math.min(maxMillis, millis)));
+    }
+
+    /**
+     * Records a successful wait. Failed waits are not recorded; they say nothing about how long the
+     * element normally takes.
+     */
+    void record(By locator, long nanos) {
+        recorded.computeIfAbsent(key(locator), key -> new AtomicLongArray(BUCKETS))
+            .incrementAndGet(bucketOf(nanos / 1_000_000.0));
+    }
+
+    /**
+     * Adds this run's samples to the stats file: the file's current content, read under
+     * {@link StatsFiles}' lock, plus this JVM's samples.
+     */
+    void save() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        try {
+            StatsFiles.rewrite(statsFile, () -> {
+                Map<String, long[]> stats = new TreeMap<>(read(statsFile));
+                recorded.forEach((key, counts) -> {
+                    long[] target = stats.computeIfAbsent(key, k -> new long[BUCKETS]);
+                    for (int i = 0; i < BUCKETS; i++) {
+                        target[i] += counts.get(i);
+                    }
+                });
+                List<String> lines = new ArrayList<>(stats.size());
+                stats.forEach((key, counts) -> lines.add(format(decay(counts)) + "\t" + key));
+                return lines;
+            });
+            logger.info("Saved wait timings for {} locators to {}", recorded.size(), statsFile);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not save wait timings to {}: {}", statsFile, e.toString());
+        }
+    }
+
+    private long[] merged(String key) {
+        long[] counts = new long[BUCKETS];
+        long[] past = history.get(key);
+        if (past != null) {
+            System.arraycopy(past, 0, counts, 0, BUCKETS);
+        }
+        AtomicLongArray current = recorded.get(key);
+        if (current != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += current.get(i);
+            }
+        }
+        return counts;
+    }
+
+    private static String key(By locator) {
+        return locator.toString();
+    }
+
+    static int bucketOf(double millis) {
+        if (millis <= FIRST_BUCKET_MS) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(2 * Math.log(millis / FIRST_BUCKET_MS) / Math.log(2));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    static double upperBoundMillis(int bucket) {
+        return FIRST_BUCKET_MS * Math.pow(2, bucket / 2.0);
+    }
+
+    private static long[] decay(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total > DECAY_THRESHOLD) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = (counts[i] + 1) / 2;
+            }
+        }
+        return counts;
+    }
+
+    private static String format(long[] counts) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(counts[i]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Reads {@code <count>,<count>,...<TAB><locator>} lines. Malformed lines are skipped.
+     */
+    private static Map<String, long[]> read(Path file) {
+        Map<String, long[]> stats = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return stats;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    continue;
+                }
+                String[] values = line.substring(0, tab).split(",");
+                if (values.length != BUCKETS) {
+                    continue;
+                }
+                long[] counts = new long[BUCKETS];
+                try {
+                    for (int i = 0; i < BUCKETS; i++) {
+                        counts[i] = Long.parseLong(values[i]);
+                    }
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                stats.put(line.substring(tab + 1), counts);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read wait timings from {}: {}", file, e.toString());
+        }
+        return stats;
+    }
+}
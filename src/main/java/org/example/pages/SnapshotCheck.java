@@ -0,0 +1,158 @@
+package org.example.pages;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.example.artifacts.FailureArtifacts;
+import org.example.jfr.PageActionEvent;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A set of text and attribute expectations checked together against {@link DomSnapshot}s.
+ * Each attempt costs one script call however many expectations there are; when one doesn't hold yet,
+ * a new snapshot is taken until the timeout passes.
+ * <pre>{@code
+ * paymentPage.verify()
+ *     .textEquals(ERROR_MESSAGE, "...")
+ *     .visible(SUBMIT_BUTTON)
+ *     .within(Duration.ofSeconds(5));
+ * }</pre>
+ * All locators are evaluated in the frame of the first one.
+ */
+public final class SnapshotCheck {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotCheck.class);
+    private static final long POLL_MILLIS = 100;
+
+    private final WebDriver driver;
+    private final Consumer<By> focus;
+    private final List<Expectation> expectations = new ArrayList<>();
+
+    /**
+     * @param driver The session to snapshot.
+     * @param focus Switches the driver to the frame a locator lives in.
+     */
+    SnapshotCheck(WebDriver driver, Consumer<By> focus) {
+        this.driver = driver;
+        this.focus = focus;
+    }
+
+    /**
+     * Expects an element matching the locator to be displayed.
+     */
+    public SnapshotCheck visible(By locator) {
+        return expect(locator, "visible", snapshot -> snapshot.isVisible(locator) ? null : "not visible");
+    }
+
+    /**
+     * Expects the displayed text of the first displayed match to equal {@code expected}.
+     */
+    public SnapshotCheck textEquals(By locator, String expected) {
+        return expect(locator, "text '" + expected + "'", snapshot -> {
+            String actual = snapshot.text(locator);
+            return expected.equals(actual) ? null : describe(actual);
+        });
+    }
+
+    /**
+     * Expects the displayed text of the first displayed match to contain {@code fragment}.
+     */
+    public SnapshotCheck textContains(By locator, String fragment) {
+        return expect(locator, "text containing '" + fragment + "'", snapshot -> {
+            String actual = snapshot.text(locator);
+            return actual != null && actual.contains(fragment) ? null : describe(actual);
+        });
+    }
+
+    /**
+     * Expects an attribute of the first match to equal {@code expected}; form fields report their current value.
+     */
+    public SnapshotCheck attributeEquals(By locator, String attribute, String expected) {
+        return expect(locator, attribute + "='" + expected + "'", snapshot -> {
+            String actual = snapshot.attribute(locator, attribute);
+            return Objects.equals(expected, actual) ? null : describe(actual);
+        });
+    }
+
+    /**
+     * Snapshots the page until every expectation holds.
+     * @param timeout How long to keep re-snapshotting.
+     * @return The snapshot all expectations held on, for further local reads.
+     * @throws TimeoutException listing the expectations that still failed on the last snapshot.
+     */
+    public DomSnapshot within(Duration timeout) {
+        if (expectations.isEmpty()) {
+            throw new IllegalStateException("No expectations to check");
+        }
+        By first = expectations.get(0).locator();
+        PageActionEvent event = PageActionEvent.start();
+        Exception failure = null;
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int snapshots = 0;
+        try {
+            while (true) {
+                focus.accept(first);
+                DomSnapshot snapshot = DomSnapshot.capture(driver);
+                snapshots++;
+                List<String> mismatches = mismatches(snapshot);
+                if (mismatches.isEmpty()) {
+                    logger.info("Verified {} expectations with {} snapshots ({} ms)",
+                        expectations.size(), snapshots, (System.nanoTime() - start) / 1_000_000);
+                    return snapshot;
+                }
+                if (System.nanoTime() >= deadline) {
+                    throw new TimeoutException("Expectations not met after " + timeout.toMillis() + " ms and "
+                        + snapshots + " snapshots: " + String.join("; ", mismatches));
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+            throw new IllegalStateException("Interrupted while verifying the page", e);
+        } catch (RuntimeException e) {
+            failure = e;
+            logger.error("Page verification failed: {}", e.getMessage());
+            FailureArtifacts.capture(driver, "verify " + first, e);
+            throw e;
+        } finally {
+            event.complete("verify", first, failure);
+        }
+    }
+
+    private List<String> mismatches(DomSnapshot snapshot) {
+        List<String> mismatches = new ArrayList<>();
+        for (Expectation expectation : expectations) {
+            String mismatch = expectation.check().apply(snapshot);
+            if (mismatch != null) {
+                mismatches.add(expectation.locator() + " expected " + expectation.description() + " but was " + mismatch);
+            }
+        }
+        return mismatches;
+    }
+
+    private SnapshotCheck expect(By locator, String description, Function<DomSnapshot, String> check) {
+        // Fail fast on locators a snapshot can't evaluate rather than at the first attempt.
+        DomSnapshot.toXPath(locator);
+        expectations.add(new Expectation(locator, description, check));
+        return this;
+    }
+
+    private static String describe(String actual) {
+        return actual == null ? "missing" : "'" + actual + "'";
+    }
+
+    /**
+     * @param check Returns null when the expectation holds, otherwise what was found instead.
+     */
+    private record Expectation(By locator, String description, Function<DomSnapshot, String> check) {
+    }
+}
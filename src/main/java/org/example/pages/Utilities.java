@@ -1,15 +1,30 @@
 package org.example.pages;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.artifacts.FailureArtifacts;
+import org.example.jfr.PageActionEvent;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class Utilities extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(Utilities.class);
+    private static final Duration CHECKPOINT_READY_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * 체크포인트 캐시 (체크포인트 + 브라우저 User-Agent + 테스트 데이터 키).
+     */
+    private static final Map<String, FlowSnapshot> checkpoints = new ConcurrentHashMap<>();
 
     /**
      * 페이지 요소를 정리하는 내부 클래스 입니다
@@ -57,7 +72,17 @@ public class Utilities extends BasePage {
         static final By CONFIRMATION_BUTTON_MOBILE = By.xpath("/html/body/div[1]/div[2]/div/div/div[2]/div/button"); // 확인 버튼 (Mobile Browser)
         static final By NO_USAGE_BUTTON_MOBILE = By.xpath("/html/body/div[1]/div[2]/div/div/div[2]/span/button"); // 사용 안함 버튼 (Mobile Browser)
 
+        // --- Frame Membership ---
+        /** 결제 iframe 안에 있는 요소들 (Desktop Browser). 나머지는 모두 최상위 문서에 있습니다. */
+        static final Set<By> IN_PAYMENT_IFRAME = Set.of(
+            SHINHAN_BANK_BUTTON, NO_ISSUANCE_OPTION_PHONE, NO_ISSUANCE_OPTION,
+            PRIVACY_AGREEMENT, CONFIRMATION_BUTTON, NO_USAGE_BUTTON);
+
        
+        // --- Completion Page Elements ---
+        static final By ISSUANCE_COMPLETE_TITLE = By.xpath("//h1[text()='가상계좌 발급완료']"); // 가상계좌 발급완료 제목
+        static final By VIRTUAL_ACCOUNT_NUMBER = By.xpath("//p[contains(text(), '입금 계좌')]/strong"); // 발급된 입금 계좌 번호
+
         // --- Payment Confirmation Text ---
         static final By PAYMENT_CONFIRMATION_TEXT = By.xpath("//div[contains(text(), '신한은행으로 100원 무통장입금')]"); // 마지막 확인 텍스트 요소
         
@@ -65,6 +90,25 @@ public class Utilities extends BasePage {
         static final By BACK_BUTTON = By.xpath("/html/body/div/div[1]/div/nav/button[1]/span/span");
     }
 
+    /**
+     * Named points in the checkout flow whose browser state can be cached and restored.
+     * Each checkpoint sits right after a page navigation, so no form field contents are lost.
+     */
+    public enum Checkpoint {
+        /** After {@link #completeInitialSteps()}: the order form is shown. */
+        INITIAL_STEPS(Elements.NAME_FIELD),
+        /** After {@link #selectVirtualAccountPayment()}: the refund bank list is shown. */
+        VIRTUAL_ACCOUNT_SELECTED(Elements.SHINHAN_BANK_ICON),
+        /** After {@link #selectBank(String)}: the refund account form is shown. */
+        REFUND_BANK_SELECTED(Elements.ACCOUNT_HOLDER_FIELD);
+
+        private final By readyLocator;
+
+        Checkpoint(By readyLocator) {
+            this.readyLocator = readyLocator;
+        }
+    }
+
     /**
      * Constructor for the Utilities class.
      * @param driver The WebDriver instance.
@@ -73,6 +117,18 @@ public class Utilities extends BasePage {
         super(driver);
     }
 
+    /**
+     * Constructor using the WebDriver bound to the current thread.
+     */
+    public Utilities() {
+        super();
+    }
+
+    @Override
+    protected By frameOf(By locator) {
+        return Elements.IN_PAYMENT_IFRAME.contains(locator) ? Elements.PAYMENT_IFRAME : null;
+    }
+
     // --- Navigation Methods ---
 
     /**
@@ -80,7 +136,9 @@ public class Utilities extends BasePage {
      * @param url The URL of the payment page.
      */
     public void navigateToPaymentPage(String url) {
+        markNetworkStep();
         driver.get(url);
+        resetFrameContext();
         logger.info("Navigated to payment page: {}", url);
     }
 
@@ -132,6 +190,13 @@ public class Utilities extends BasePage {
         logger.info("Clicked the back button.");
     }
 
+    /**
+     * Clicks the back button to return to the previous page.
+     */
+    public void clickBackButton() {
+        SelectclickBackButton();
+    }
+
     // --- Customer Information Methods ---
 
     /**
@@ -140,8 +205,9 @@ public class Utilities extends BasePage {
      * @param phoneNumber The customer's phone number.
      */
     public void fillCustomerInformation(String name, String phoneNumber) {
-        sendKeysToElement(Elements.NAME_FIELD, name);
-        sendKeysToElement(Elements.PHONE_FIELD, phoneNumber);
+        performBatch(List.of(
+            FormAction.type(Elements.NAME_FIELD, name),
+            FormAction.type(Elements.PHONE_FIELD, phoneNumber)));
         logger.info("Filled customer information.");
     }
 
@@ -164,6 +230,15 @@ public class Utilities extends BasePage {
         logger.info("Selected Shinhan bank.");
     }
 
+    /**
+     * Selects the refund bank by clicking its icon.
+     * @param bankName The bank's short name as used in the icon file, e.g. "Shinhan".
+     */
+    public void selectBank(String bankName) {
+        clickElement(By.cssSelector("img[src*='icn-bank-" + bankName.toLowerCase(Locale.ROOT) + ".svg']"));
+        logger.info("Selected bank: {}", bankName);
+    }
+
     /**
      * Selects Shinhan Bank using a mobile-specific locator.
      */
@@ -178,9 +253,10 @@ public class Utilities extends BasePage {
      * @param accountNumber The account number for the refund.
      */
     public void fillRefundAccountInformation(String holderName, String accountNumber) {
-        sendKeysToElement(Elements.ACCOUNT_HOLDER_FIELD, holderName);
-        sendKeysToElement(Elements.ACCOUNT_NUMBER_FIELD, accountNumber);
-        clickElement(Elements.BANK_SELECT_BUTTON);
+        performBatch(List.of(
+            FormAction.type(Elements.ACCOUNT_HOLDER_FIELD, holderName),
+            FormAction.type(Elements.ACCOUNT_NUMBER_FIELD, accountNumber),
+            FormAction.click(Elements.BANK_SELECT_BUTTON)));
         logger.info("Filled refund account information.");
     }
 
@@ -188,19 +264,32 @@ public class Utilities extends BasePage {
 
     /**
      * Switches the WebDriver's focus to the payment iframe.
-     * Waits for the iframe to be present before switching.
+     * Waits for the iframe to be present before switching; does nothing if it is focused already.
+     * Elements inside the iframe are also switched to automatically, so calling this is optional.
      */
     public void switchToPaymentIframe() {
+        PageActionEvent event = PageActionEvent.start();
+        Exception failure = null;
         try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(Elements.PAYMENT_IFRAME));
-            driver.switchTo().frame("___tosspayments_iframe___");
+            switchToFrame(Elements.PAYMENT_IFRAME);
             logger.info("Switched to payment iframe.");
         } catch (Exception e) {
+            failure = e;
             logger.error("Failed to switch to payment iframe", e);
+            FailureArtifacts.capture(driver, "switch to payment iframe", e);
             throw e; // Re-throw the exception to indicate failure
+        } finally {
+            event.complete("switchToFrame", Elements.PAYMENT_IFRAME, failure);
         }
     }
 
+    /**
+     * Switches the WebDriver's focus back to the top-level document, if it isn't there already.
+     */
+    public void switchToMainContent() {
+        switchToFrame(null);
+    }
+
     // --- Payment Confirmation Methods ---
 
     /**
@@ -238,14 +327,134 @@ public class Utilities extends BasePage {
         logger.info("Selected final bank.");
     }
 
+    /**
+     * Selects the final bank on the mobile bank list.
+     */
+    public void selectFinalBankMobile() {
+        clickElement(Elements.SHINHAN_BANK_BUTTON_MOBILE);
+        logger.info("Selected final bank (mobile).");
+    }
+
+    /**
+     * Returns to the main page and waits for the "가상계좌 발급완료" completion page.
+     */
+    public void waitForIssuanceComplete() {
+        waitForVisibilityAndGetElement(Elements.ISSUANCE_COMPLETE_TITLE);
+        logger.info("Virtual account issuance completed.");
+    }
+
+    /**
+     * @return The issued virtual account number shown on the completion page.
+     */
+    public String getIssuedVirtualAccount() {
+        return verify().visible(Elements.VIRTUAL_ACCOUNT_NUMBER).within(WAIT_TIMEOUT).text(Elements.VIRTUAL_ACCOUNT_NUMBER);
+    }
+
     /**
      * Checks if the payment confirmation text is displayed.
      * @return true if the payment confirmation text is displayed, false otherwise.
      */
     public boolean isPaymentConfirmed() {
-        WebElement confirmationText = waitForVisibilityAndGetElement(Elements.PAYMENT_CONFIRMATION_TEXT);
-        boolean isConfirmed = confirmationText.isDisplayed();
+        boolean isConfirmed = verify().visible(Elements.PAYMENT_CONFIRMATION_TEXT).within(WAIT_TIMEOUT)
+            .isVisible(Elements.PAYMENT_CONFIRMATION_TEXT);
         logger.info("Payment confirmation status: {}", isConfirmed);
         return isConfirmed;
     }
+
+    // --- Checkpoint Methods ---
+
+    /**
+     * Restores the browser to a cached checkpoint, or runs {@code replay} to get there and caches the result.
+     * @param checkpoint The checkpoint the flow should end up at.
+     * @param replay The UI steps that lead to the checkpoint from a fresh session.
+     */
+    public void resumeFrom(Checkpoint checkpoint, Runnable replay) {
+        resumeFrom(checkpoint, "", replay);
+    }
+
+    /**
+     * Restores the browser to a cached checkpoint, or runs {@code replay} to get there and caches the result.
+     * @param checkpoint The checkpoint the flow should end up at.
+     * @param dataKey Identifies the test data entered before the checkpoint, so different data never shares a snapshot.
+     * @param replay The UI steps that lead to the checkpoint from a fresh session.
+     */
+    public void resumeFrom(Checkpoint checkpoint, String dataKey, Runnable replay) {
+        if (restoreCheckpoint(checkpoint, dataKey)) {
+            return;
+        }
+        replay.run();
+        saveCheckpoint(checkpoint, dataKey);
+    }
+
+    /**
+     * Captures the current browser state under the given checkpoint, once the checkpoint's page is shown.
+     * The pages navigate only after their request completes, so capturing right away could record the
+     * previous page.
+     * @param checkpoint The checkpoint the flow has just reached.
+     * @param dataKey Identifies the test data entered before the checkpoint.
+     * @return false if the checkpoint's page did not come up, in which case nothing is saved.
+     */
+    public boolean saveCheckpoint(Checkpoint checkpoint, String dataKey) {
+        if (!isVisibleWithin(checkpoint.readyLocator, WAIT_TIMEOUT)) {
+            logger.warn("Checkpoint {} not reached, not saving it.", checkpoint);
+            return false;
+        }
+        FlowSnapshot snapshot = FlowSnapshot.capture(driver);
+        resetFrameContext();
+        checkpoints.put(checkpointKey(checkpoint, dataKey), snapshot);
+        logger.info("Saved checkpoint {} at {}", checkpoint, snapshot.url());
+        return true;
+    }
+
+    /**
+     * Restores a cached checkpoint. A snapshot that can't be restored, or whose page doesn't come up,
+     * is dropped from the cache so the next caller replays the flow instead.
+     * @param checkpoint The checkpoint to restore.
+     * @param dataKey Identifies the test data entered before the checkpoint.
+     * @return true if the browser is now at the checkpoint.
+     */
+    public boolean restoreCheckpoint(Checkpoint checkpoint, String dataKey) {
+        String key = checkpointKey(checkpoint, dataKey);
+        FlowSnapshot snapshot = checkpoints.get(key);
+        if (snapshot == null) {
+            return false;
+        }
+        try {
+            snapshot.restore(driver);
+            resetFrameContext();
+            if (isVisibleWithin(checkpoint.readyLocator, CHECKPOINT_READY_TIMEOUT)) {
+                logger.info("Restored checkpoint {} from cache.", checkpoint);
+                return true;
+            }
+            logger.warn("Checkpoint {} restored but page is not ready, invalidating it.", checkpoint);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to restore checkpoint {}, invalidating it.", checkpoint, e);
+        }
+        checkpoints.remove(key, snapshot);
+        return false;
+    }
+
+    /**
+     * Clears the cookies and web storage of the current page and leaves it, so the next flow starts from nothing.
+     */
+    public void clearSession() {
+        driver.switchTo().defaultContent();
+        ((JavascriptExecutor) driver).executeScript(
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        driver.manage().deleteAllCookies();
+        driver.get("about:blank");
+        resetFrameContext();
+    }
+
+    /**
+     * Drops every cached checkpoint.
+     */
+    public static void clearCheckpoints() {
+        checkpoints.clear();
+    }
+
+    private String checkpointKey(Checkpoint checkpoint, String dataKey) {
+        String userAgent = String.valueOf(((JavascriptExecutor) driver).executeScript("return navigator.userAgent;"));
+        return checkpoint + "|" + userAgent + "|" + dataKey;
+    }
 }
\ No newline at end of file
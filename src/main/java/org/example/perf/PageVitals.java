@@ -0,0 +1,14 @@
+package org.example.perf;
+
+import java.util.Map;
+
+/**
+ * Performance metrics of one document.
+ * @param page The frame and path, e.g. {@code main /payment/order} or {@code ___tosspayments_iframe___ /payment/iframe}.
+ * @param metrics Metric name to value; metrics the browser didn't report are absent.
+ */
+public record PageVitals(String page, Map<String, Double> metrics) {
+    public PageVitals {
+        metrics = Map.copyOf(metrics);
+    }
+}
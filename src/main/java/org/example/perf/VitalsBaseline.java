@@ -0,0 +1,149 @@
+package org.example.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.stats.StatsFiles;
+
+/**
+ * Append-only history of web vitals and the rolling baseline a run is compared with.
+ * Every measured value is appended to {@code -Dvitals.file} (default {@code .stats/web-vitals.tsv}) as
+ * {@code run, test, page, metric, value}. The baseline of a test, page and metric is the median over the last
+ * {@code -Dvitals.baselineRuns} runs (default 10) of each run's worst value; it needs at least
+ * {@code -Dvitals.minRuns} runs (default 3). A value regresses when it exceeds the baseline by more than
+ * {@code -Dvitals.tolerance} (default 0.25, i.e. 25 %) plus a small absolute allowance that keeps
+ * near-zero metrics from flapping (20 ms, or 0.02 for CLS).
+ */
+public final class VitalsBaseline {
+    /** Where history is kept, from {@code -Dvitals.file}. */
+    public static final Path FILE = Paths.get(System.getProperty("vitals.file", ".stats/web-vitals.tsv"));
+    /** Identifies this run's lines, from {@code -Dvitals.runId}; defaults to the JVM start time. */
+    static final String RUN_ID = System.getProperty("vitals.runId",
+        ProcessHandle.current().info().startInstant().orElseGet(Instant::now).toString());
+    private static final int BASELINE_RUNS = Integer.getInteger("vitals.baselineRuns", 10);
+    private static final int MIN_RUNS = Integer.getInteger("vitals.minRuns", 3);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("vitals.tolerance", "0.25"));
+
+    private static volatile VitalsBaseline shared;
+
+    private final Path file;
+    /** Test, page and metric to each earlier run's worst value, oldest run first. */
+    private final Map<String, LinkedHashMap<String, Double>> history;
+
+    VitalsBaseline(Path file) {
+        this.file = file;
+        this.history = read(file);
+    }
+
+    /**
+     * @return The history as it was before this run wrote to it.
+     */
+    public static VitalsBaseline shared() {
+        if (shared == null) {
+            synchronized (VitalsBaseline.class) {
+                if (shared == null) {
+                    shared = new VitalsBaseline(FILE);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Appends a test's measurements to the history file, see {@link StatsFiles#append}.
+     * @param test The test, e.g. {@code VirtualAccountPaymentTest#testVirtualAccountPayment}.
+     * @param pages What the test measured.
+     */
+    public void append(String test, List<PageVitals> pages) throws IOException {
+        if (pages.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (PageVitals page : pages) {
+            page.metrics().forEach((metric, value) -> lines.append(RUN_ID).append('\t').append(test).append('\t')
+                .append(page.page()).append('\t').append(metric).append('\t').append(value).append('\n'));
+        }
+        StatsFiles.append(file, lines);
+    }
+
+    /**
+     * Compares a test's measurements with the baseline.
+     * @param test The test the pages were measured in.
+     * @param pages What the test measured.
+     * @return One description per regressed metric; empty if nothing regressed or there is too little history.
+     */
+    public List<String> regressions(String test, List<PageVitals> pages) {
+        Map<String, Double> worst = new LinkedHashMap<>();
+        for (PageVitals page : pages) {
+            page.metrics().forEach((metric, value) -> worst.merge(key(test, page.page(), metric), value, Math::max));
+        }
+        List<String> regressions = new ArrayList<>();
+        worst.forEach((key, value) -> {
+            Double baseline = baseline(key);
+            if (baseline == null) {
+                return;
+            }
+            String metric = key.substring(key.lastIndexOf('\t') + 1);
+            double limit = baseline * (1 + TOLERANCE) + ("cls".equals(metric) ? 0.02 : 20);
+            if (value > limit) {
+                regressions.add(String.format("%s %s on '%s': %.3f exceeds baseline %.3f (limit %.3f)",
+                    test, metric, key.split("\t")[1], value, baseline, limit));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * @return The median of the last runs' worst values, or null with fewer than the minimum number of runs.
+     */
+    Double baseline(String key) {
+        LinkedHashMap<String, Double> runs = history.get(key);
+        if (runs == null || runs.size() < MIN_RUNS) {
+            return null;
+        }
+        List<Double> values = new ArrayList<>(runs.values());
+        values = new ArrayList<>(values.subList(Math.max(0, values.size() - BASELINE_RUNS), values.size()));
+        values.sort(null);
+        int middle = values.size() / 2;
+        return values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+    }
+
+    static String key(String test, String page, String metric) {
+        return test + "\t" + page + "\t" + metric;
+    }
+
+    private static Map<String, LinkedHashMap<String, Double>> read(Path file) {
+        Map<String, LinkedHashMap<String, Double>> history = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length != 5) {
+                    continue;
+                }
+                try {
+                    double value = Double.parseDouble(fields[4]);
+                    history.computeIfAbsent(key(fields[1], fields[2], fields[3]), k -> new LinkedHashMap<>())
+                        .merge(fields[0], value, Math::max);
+                } catch (NumberFormatException e) {
+                    // Skip malformed lines.
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read web vitals history from " + file, e);
+        }
+        return history;
+    }
+}
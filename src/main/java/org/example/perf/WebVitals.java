@@ -0,0 +1,206 @@
+package org.example.perf;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.driver.CdpEvents;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects browser-side performance metrics for every document a session loads, in the page and its iframes.
+ * A script injected into each new document observes Largest Contentful Paint, layout shifts and event timing
+ * through {@code PerformanceObserver}; when the document is left it reports those together with its
+ * Navigation Timing through a CDP binding. Reporting on {@code pagehide} means each checkout page is measured
+ * over its whole lifetime, including the clicks {@code BasePage.clickElement} performed on it.
+ * <p>
+ * The script and binding are installed on the page's CDP target only. An out-of-process iframe is a target of
+ * its own and is not measured, so with {@code -Dvitals.collect=true} {@code BrowserProfile} keeps cross-origin
+ * iframes such as the payment iframe in the page's process.
+ * <p>
+ * Metrics per document, all in milliseconds except {@code cls}: {@code ttfb}, {@code fcp},
+ * {@code domContentLoaded}, {@code load}, {@code lcp}, {@code inp} (the slowest interaction, which is INP for
+ * pages with fewer than 50 interactions) and {@code cls} (the largest session window of unexpected shifts).
+ */
+public final class WebVitals implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WebVitals.class);
+    private static final Json JSON = new Json();
+    private static final String BINDING = "__checkoutVitals";
+    private static final long FLUSH_WAIT_MILLIS = 1000;
+
+    private static final String OBSERVER_SCRIPT = """
+        (function () {
+          if (window.__checkoutVitalsFlush || !/^https?:/.test(location.protocol)) return;
+          var state = {lcp: 0, cls: 0, window: 0, windowStart: 0, lastShift: 0, interactions: {}, sent: false};
+          var observers = [];
+          function observe(type, handle, options) {
+            try {
+              var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(handle); });
+              observer.observe(Object.assign({type: type, buffered: true}, options || {}));
+              observers.push({observer: observer, handle: handle});
+            } catch (e) {}
+          }
+          observe('largest-contentful-paint', function (e) { state.lcp = e.renderTime || e.startTime; });
+          observe('layout-shift', function (e) {
+            if (e.hadRecentInput) return;
+            if (state.window > 0 && e.startTime - state.lastShift < 1000 && e.startTime - state.windowStart < 5000) {
+              state.window += e.value;
+            } else {
+              state.window = e.value;
+              state.windowStart = e.startTime;
+            }
+            state.lastShift = e.startTime;
+            state.cls = Math.max(state.cls, state.window);
+          });
+          observe('event', function (e) {
+            if (e.interactionId) state.interactions[e.interactionId] = Math.max(state.interactions[e.interactionId] || 0, e.duration);
+          }, {durationThreshold: 16});
+          function report() {
+            if (state.sent || typeof window.__checkoutVitals !== 'function') return 0;
+            state.sent = true;
+            observers.forEach(function (o) { o.observer.takeRecords().forEach(o.handle); });
+            var nav = performance.getEntriesByType('navigation')[0];
+            var fcp = performance.getEntriesByName('first-contentful-paint')[0];
+            var durations = Object.keys(state.interactions).map(function (id) { return state.interactions[id]; });
+            window.__checkoutVitals(JSON.stringify({
+              frame: window === window.top ? 'main' : (window.name || 'iframe'),
+              leftAt: performance.timeOrigin + performance.now(),
+              path: location.pathname,
+              metrics: {
+                ttfb: nav ? nav.responseStart : null,
+                fcp: fcp ? fcp.startTime : null,
+                domContentLoaded: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null,
+                load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null,
+                lcp: state.lcp || null,
+                inp: durations.length ? Math.max.apply(null, durations) : null,
+                cls: state.cls
+              }
+            }));
+            return 1;
+          }
+          window.__checkoutVitalsFlush = function () {
+            var reported = 0;
+            for (var i = 0; i < window.frames.length; i++) {
+              try { reported += window.frames[i].__checkoutVitalsFlush ? window.frames[i].__checkoutVitalsFlush() : 0; } catch (e) {}
+            }
+            return reported + report();
+          };
+          addEventListener('pagehide', report);
+        })();
+        """;
+
+    private static final String FLUSH_SCRIPT =
+        "try { return window.top.__checkoutVitalsFlush ? window.top.__checkoutVitalsFlush() : 0; } catch (e) { return 0; }";
+
+    private final WebDriver driver;
+    private final CdpEvents cdp;
+    private final AutoCloseable subscription;
+    /** Reports in the order they were handled, which may differ from the order the documents were left. */
+    private final List<Report> pages = new ArrayList<>();
+    private String scriptId;
+
+    private WebVitals(WebDriver driver) {
+        this.driver = driver;
+        this.cdp = CdpEvents.of(driver);
+        this.subscription = cdp.subscribe("Runtime.bindingCalled", this::onReport);
+    }
+
+    /**
+     * Starts measuring every document the session loads from now on.
+     * @param driver A Chromium session.
+     * @return The running collector; close it to get the results.
+     */
+    public static WebVitals start(WebDriver driver) {
+        WebVitals vitals = new WebVitals(driver);
+        try {
+            vitals.cdp.send("Runtime.enable", Map.of());
+            vitals.cdp.send("Runtime.addBinding", Map.of("name", BINDING));
+            vitals.scriptId = (String) vitals.cdp.send("Page.addScriptToEvaluateOnNewDocument", Map.of("source", OBSERVER_SCRIPT)).get("identifier");
+            return vitals;
+        } catch (RuntimeException e) {
+            vitals.close();
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onReport(Map<String, Object> params) {
+        if (!BINDING.equals(params.get("name"))) {
+            return;
+        }
+        Map<String, Object> report = JSON.toType((String) params.get("payload"), Json.MAP_TYPE);
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        ((Map<String, Object>) report.get("metrics")).forEach((name, value) -> {
+            if (value instanceof Number) {
+                metrics.put(name, ((Number) value).doubleValue());
+            }
+        });
+        synchronized (pages) {
+            double leftAt = report.get("leftAt") instanceof Number at ? at.doubleValue() : 0;
+            pages.add(new Report(leftAt, new PageVitals(report.get("frame") + " " + report.get("path"), metrics)));
+            pages.notifyAll();
+        }
+    }
+
+    /**
+     * Reports the documents still open and stops measuring.
+     * @return The metrics of every document, in the order they were left.
+     */
+    public List<PageVitals> finish() {
+        int expected;
+        synchronized (pages) {
+            expected = pages.size();
+        }
+        try {
+            expected += ((Number) ((JavascriptExecutor) driver).executeScript(FLUSH_SCRIPT)).intValue();
+        } catch (WebDriverException | ClassCastException | NullPointerException e) {
+            logger.debug("Could not flush web vitals of the open page: {}", e.toString());
+        }
+        long deadline = System.currentTimeMillis() + FLUSH_WAIT_MILLIS;
+        synchronized (pages) {
+            // Binding calls arrive asynchronously over the CDP connection.
+            try {
+                while (pages.size() < expected && System.currentTimeMillis() < deadline) {
+                    pages.wait(Math.max(1, deadline - System.currentTimeMillis()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        close();
+        synchronized (pages) {
+            // Binding calls are handled on a thread pool, so they can come in out of order.
+            return pages.stream()
+                .sorted(Comparator.comparingDouble(Report::leftAt))
+                .map(Report::page)
+                .toList();
+        }
+    }
+
+    private record Report(double leftAt, PageVitals page) {
+    }
+
+    /**
+     * Stops measuring without reporting the open page.
+     */
+    @Override
+    public void close() {
+        try {
+            subscription.close();
+            if (scriptId != null) {
+                cdp.send("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", scriptId));
+                scriptId = null;
+            }
+            cdp.send("Runtime.removeBinding", Map.of("name", BINDING));
+        } catch (Exception e) {
+            logger.debug("Could not stop web vitals collection cleanly: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.stats;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Writes the history files under {@code .stats/} that every test JVM of a run, and every thread in it, adds to.
+ * A write holds {@code <file>.lock} twice: a {@link ReentrantLock} per lock file for the threads of this JVM,
+ * since a JVM may hold a {@link FileLock} on a file only once, then the file lock itself for the other forks.
+ */
+public final class StatsFiles {
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private StatsFiles() {
+    }
+
+    /**
+     * Appends lines to a file, creating it and its directory if needed.
+     * @param file The file.
+     * @param lines Complete lines, each ending with a line break.
+     */
+    public static void append(Path file, CharSequence lines) throws IOException {
+        locked(file, () -> Files.writeString(file, lines, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Replaces a file's content atomically, so readers see either the old or the new content.
+     * @param file The file.
+     * @param lines Computes the new content; called with the lock held, so it can read the current content
+     * and merge into it without losing another writer's lines.
+     */
+    public static void rewrite(Path file, Supplier<List<String>> lines) throws IOException {
+        locked(file, () -> {
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, lines.get(), StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        });
+    }
+
+    private static void locked(Path file, Write write) throws IOException {
+        Path directory = file.toAbsolutePath().normalize().getParent();
+        Files.createDirectories(directory);
+        Path lockFile = directory.resolve(file.getFileName() + ".lock");
+        ReentrantLock lock = LOCKS.computeIfAbsent(lockFile, key -> new ReentrantLock());
+        lock.lock();
+        // Closing the channel releases the file lock, before the thread lock is released.
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.lock();
+            write.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.stub;
+
+import java.util.Locale;
+
+/**
+ * 스텁 결제창에서 선택할 수 있는 은행 목록입니다.
+ * The declaration order is the order banks appear in the mobile bank list.
+ */
+public enum Bank {
+    KB("KB국민은행", "kb"),
+    IBK("IBK기업은행", "ibk"),
+    NH("NH농협은행", "nh"),
+    WOORI("우리은행", "woori"),
+    HANA("하나은행", "hana"),
+    SC("SC제일은행", "sc"),
+    CITI("씨티은행", "citi"),
+    KBANK("케이뱅크", "kbank"),
+    KAKAO("카카오뱅크", "kakao"),
+    TOSS("토스뱅크", "toss"),
+    SHINHAN("신한은행", "shinhan"),
+    BUSAN("부산은행", "busan"),
+    DAEGU("대구은행", "daegu");
+
+    private final String displayName;
+    private final String iconName;
+
+    Bank(String displayName, String iconName) {
+        this.displayName = displayName;
+        this.iconName = iconName;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    /**
+     * @return The icon file name, e.g. {@code icn-bank-shinhan.svg}.
+     */
+    public String iconFile() {
+        return "icn-bank-" + iconName + ".svg";
+    }
+
+    /**
+     * Looks a bank up by its code or by the short name used in tests (e.g. "Shinhan").
+     * @param name The bank code, case-insensitive.
+     * @return The matching bank.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static Bank of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.stub;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checkout progress carried entirely in a cookie, so the stub server stays stateless and a flow
+ * can be resumed by restoring its cookies into another session.
+ */
+final class CheckoutState {
+    static final String COOKIE_NAME = "checkout_state";
+
+    /** Flow steps in the order the checkout requires them. */
+    enum Step { NONE, STARTED, CUSTOMER, METHOD, REFUND_BANK, REFUND_ACCOUNT, DEPOSIT_BANK, CONFIRMED }
+
+    private final Map<String, String> values;
+
+    private CheckoutState(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static CheckoutState empty() {
+        return new CheckoutState(new LinkedHashMap<>());
+    }
+
+    /**
+     * Restores the state from the request's Cookie headers. An unreadable cookie yields an empty state.
+     */
+    static CheckoutState fromCookieHeaders(List<String> headers) {
+        if (headers != null) {
+            for (String header : headers) {
+                for (String cookie : header.split(";")) {
+                    String trimmed = cookie.trim();
+                    if (trimmed.startsWith(COOKIE_NAME + "=")) {
+                        return decode(trimmed.substring(COOKIE_NAME.length() + 1));
+                    }
+                }
+            }
+        }
+        return empty();
+    }
+
+    private static CheckoutState decode(String cookieValue) {
+        Map<String, String> values = new LinkedHashMap<>();
+        try {
+            String query = new String(Base64.getUrlDecoder().decode(cookieValue), StandardCharsets.UTF_8);
+            values.putAll(parseQuery(query));
+        } catch (IllegalArgumentException e) {
+            values.clear();
+        }
+        return new CheckoutState(values);
+    }
+
+    /**
+     * @return The Set-Cookie header value for this state.
+     */
+    String toSetCookie() {
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            query.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        String encoded = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(query.toString().getBytes(StandardCharsets.UTF_8));
+        return COOKIE_NAME + "=" + encoded + "; Path=/; SameSite=Lax";
+    }
+
+    Step step() {
+        try {
+            return Step.valueOf(values.getOrDefault("step", Step.NONE.name()));
+        } catch (IllegalArgumentException e) {
+            return Step.NONE;
+        }
+    }
+
+    /**
+     * Records the step just completed as the one reached. Redoing an earlier step moves the checkout back to it,
+     * so the later steps are rejected until they are completed again. Values stored by those later steps are kept
+     * until they are completed again, which overwrites them.
+     */
+    void advanceTo(Step step) {
+        values.put("step", step.name());
+    }
+
+    String get(String key) {
+        return values.getOrDefault(key, "");
+    }
+
+    void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    /**
+     * @return Placeholder values for page templates.
+     */
+    Map<String, String> templateValues() {
+        Map<String, String> template = new LinkedHashMap<>(values);
+        template.put("refundBankName", bankName(get("refundBank")));
+        template.put("depositBankName", bankName(get("depositBank")));
+        template.put("virtualAccount", virtualAccountNumber());
+        return template;
+    }
+
+    /**
+     * A deterministic fake account number derived from the customer and deposit bank.
+     */
+    String virtualAccountNumber() {
+        long hash = Integer.toUnsignedLong((get("phone") + get("depositBank")).hashCode());
+        return String.format("5621-%04d-%06d", hash % 10_000, hash % 1_000_000);
+    }
+
+    private static String bankName(String code) {
+        if (code.isEmpty()) {
+            return "";
+        }
+        try {
+            return Bank.of(code).displayName();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
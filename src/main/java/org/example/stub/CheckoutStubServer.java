@@ -0,0 +1,464 @@
+package org.example.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.example.stub.CheckoutState.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 오프라인 테스트용 로컬 결제 페이지 서버입니다.
+ * Serves a stand-in for the checkout page, the {@code ___tosspayments_iframe___} payment iframe and the
+ * mobile redirect pages, with DOM structures that match the locators in {@code Utilities.Elements}.
+ * Mobile pages are chosen by User-Agent, or by {@code ?variant=mobile} on the first page.
+ *
+ * <p>The JSON API the pages call ({@code POST /api/checkout/*}, form-encoded) is the same one a
+ * browserless client can drive directly. All checkout progress lives in a cookie.
+ */
+public class CheckoutStubServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutStubServer.class);
+
+    /** Response latency applied to every request, from {@code -Dstub.latencyMs}. */
+    public static final Duration DEFAULT_LATENCY = Duration.ofMillis(Long.getLong("stub.latencyMs", 0));
+
+    private static final Map<String, String> PAGES = Map.of(
+        "/payment", "initial.html",
+        "/payment/order", "order.html",
+        "/payment/bank", "bank.html",
+        "/payment/refund", "refund.html",
+        "/payment/iframe", "iframe.html",
+        "/payment/mobile/bank", "mobile-bank.html",
+        "/payment/mobile/confirm", "mobile-confirm.html",
+        "/payment/complete", "complete.html");
+
+    /** Icon file names of the banks the pages list; other {@code icn-bank-*.svg} names are not found. */
+    private static final Set<String> BANK_ICONS = Arrays.stream(Bank.values()).map(Bank::iconFile).collect(Collectors.toUnmodifiableSet());
+
+    private static final Pattern KOREAN_NAME = Pattern.compile("^[가-힣]{2,10}$");
+    private static final Pattern PHONE_NUMBER = Pattern.compile("^01[016789]-?\\d{3,4}-?\\d{4}$");
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("^\\d{10,14}$");
+    private static final int AMOUNT = 100;
+
+    static {
+        // The JDK server leaves Nagle's algorithm on, which adds ~40 ms of delayed-ACK stall to every
+        // small API response. Must be set before the first HttpServer is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+    private volatile Duration latency;
+
+    private CheckoutStubServer(HttpServer server, ExecutorService executor, Duration latency) {
+        this.server = server;
+        this.executor = executor;
+        this.latency = latency;
+    }
+
+    /**
+     * Starts a server on a free loopback port with {@link #DEFAULT_LATENCY}.
+     * @return The running server.
+     */
+    public static CheckoutStubServer start() {
+        return start(0, DEFAULT_LATENCY);
+    }
+
+    /**
+     * Starts a server on the given loopback port.
+     * @param port The port, or 0 for any free port.
+     * @param latency Delay added before every response.
+     * @return The running server.
+     */
+    public static CheckoutStubServer start(int port, Duration latency) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "checkout-stub");
+                thread.setDaemon(true);
+                return thread;
+            });
+            CheckoutStubServer stub = new CheckoutStubServer(server, executor, latency);
+            server.createContext("/", stub::handle);
+            server.setExecutor(executor);
+            server.start();
+            logger.info("Checkout stub server listening on {}", stub.baseUrl());
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start checkout stub server", e);
+        }
+    }
+
+    /**
+     * @return The server origin, e.g. {@code http://127.0.0.1:54321}.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return The URL of the first checkout page, used in place of the production {@code BASE_URL}.
+     */
+    public String paymentUrl() {
+        return baseUrl() + "/payment";
+    }
+
+    public Duration latency() {
+        return latency;
+    }
+
+    /**
+     * Changes the delay added before every response.
+     * @param latency The new latency.
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            delay();
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/api/checkout/") && "POST".equals(exchange.getRequestMethod())) {
+                handleApi(exchange, path.substring("/api/checkout/".length()));
+            } else if (PAGES.containsKey(path)) {
+                CheckoutState state = CheckoutState.fromCookieHeaders(exchange.getRequestHeaders().get("Cookie"));
+                String html = render(new String(resource("pages/" + PAGES.get(path)), StandardCharsets.UTF_8), state.templateValues());
+                send(exchange, 200, "text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+            } else if (path.startsWith("/static/icn-bank-") && path.endsWith(".svg")) {
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+                send(exchange, 200, "image/svg+xml", bankIcon(path.substring("/static/".length())));
+            } else if (path.startsWith("/static/") && !path.contains("..")) {
+                byte[] body = resource(path.substring(1));
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+                send(exchange, 200, contentType(path), body);
+            } else {
+                send(exchange, 404, "text/plain; charset=utf-8", "Not Found".getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (ResourceNotFoundException e) {
+            send(exchange, 404, "text/plain; charset=utf-8", "Not Found".getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            logger.error("Stub request failed: {}", exchange.getRequestURI(), e);
+            send(exchange, 500, "text/plain; charset=utf-8", "Internal Server Error".getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleApi(HttpExchange exchange, String action) throws IOException {
+        CheckoutState state = CheckoutState.fromCookieHeaders(exchange.getRequestHeaders().get("Cookie"));
+        Map<String, String> form;
+        try (InputStream body = exchange.getRequestBody()) {
+            form = CheckoutState.parseQuery(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        ApiResult result = apply(action, form, state);
+        if (result.ok) {
+            exchange.getResponseHeaders().add("Set-Cookie", state.toSetCookie());
+        }
+        send(exchange, result.status, "application/json; charset=utf-8", result.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Applies one checkout step to the state.
+     */
+    private static ApiResult apply(String action, Map<String, String> form, CheckoutState state) {
+        switch (action) {
+            case "start":
+                state.advanceTo(Step.STARTED);
+                return ApiResult.ok();
+            case "memo":
+                state.put("memo", form.getOrDefault("memo", ""));
+                return ApiResult.ok();
+            case "customer": {
+                if (state.step().compareTo(Step.STARTED) < 0) {
+                    return ApiResult.outOfOrder();
+                }
+                String name = form.getOrDefault("name", "").trim();
+                String phone = form.getOrDefault("phone", "").trim();
+                Map<String, String> errors = new LinkedHashMap<>();
+                if (!KOREAN_NAME.matcher(name).matches()) {
+                    errors.put("name", "이름을 정확히 입력해주세요.");
+                }
+                if (!PHONE_NUMBER.matcher(phone).matches()) {
+                    errors.put("phone", "휴대폰 번호를 정확히 입력해주세요.");
+                }
+                if (!errors.isEmpty()) {
+                    return ApiResult.invalid(errors);
+                }
+                state.put("name", name);
+                state.put("phone", phone);
+                state.advanceTo(Step.CUSTOMER);
+                return ApiResult.ok();
+            }
+            case "method": {
+                if (state.step().compareTo(Step.CUSTOMER) < 0) {
+                    return ApiResult.outOfOrder();
+                }
+                String method = form.getOrDefault("method", "");
+                if (!"VIRTUAL_ACCOUNT".equals(method)) {
+                    return ApiResult.invalid(Map.of("method", "가상계좌만 지원합니다."));
+                }
+                state.put("method", method);
+                state.advanceTo(Step.METHOD);
+                return ApiResult.ok();
+            }
+            case "refund-bank":
+                return selectBank(form, state, Step.METHOD, Step.REFUND_BANK, "refundBank");
+            case "refund-account": {
+                if (state.step().compareTo(Step.REFUND_BANK) < 0) {
+                    return ApiResult.outOfOrder();
+                }
+                String holder = form.getOrDefault("holder", "").trim();
+                String account = form.getOrDefault("account", "").replace("-", "").trim();
+                Map<String, String> errors = new LinkedHashMap<>();
+                if (!KOREAN_NAME.matcher(holder).matches()) {
+                    errors.put("holder", "예금주명을 정확히 입력해주세요.");
+                }
+                if (!ACCOUNT_NUMBER.matcher(account).matches()) {
+                    errors.put("account", "존재하지 않는 계좌이거나, 본인의 계좌가 아닙니다.");
+                }
+                if (!errors.isEmpty()) {
+                    return ApiResult.invalid(errors);
+                }
+                state.put("holder", holder);
+                state.put("account", account);
+                state.advanceTo(Step.REFUND_ACCOUNT);
+                return ApiResult.ok();
+            }
+            case "deposit-bank":
+                return selectBank(form, state, Step.REFUND_ACCOUNT, Step.DEPOSIT_BANK, "depositBank");
+            case "confirm": {
+                if (state.step().compareTo(Step.DEPOSIT_BANK) < 0) {
+                    return ApiResult.outOfOrder();
+                }
+                Map<String, String> errors = new LinkedHashMap<>();
+                if (form.getOrDefault("cashReceipt", "").isEmpty()) {
+                    errors.put("cashReceipt", "현금영수증 발급 여부를 선택해주세요.");
+                }
+                if (!"true".equals(form.get("agreed"))) {
+                    errors.put("agreed", "필수 약관에 동의해주세요.");
+                }
+                if (!errors.isEmpty()) {
+                    return ApiResult.invalid(errors);
+                }
+                state.put("cashReceipt", form.get("cashReceipt"));
+                state.advanceTo(Step.CONFIRMED);
+                String bankName = Bank.of(state.get("depositBank")).displayName();
+                return ApiResult.ok()
+                    .with("virtualAccount", state.virtualAccountNumber())
+                    .with("message", bankName + "으로 " + AMOUNT + "원 무통장입금");
+            }
+            default:
+                return ApiResult.notFound();
+        }
+    }
+
+    private static ApiResult selectBank(Map<String, String> form, CheckoutState state, Step required, Step reached, String key) {
+        if (state.step().compareTo(required) < 0) {
+            return ApiResult.outOfOrder();
+        }
+        Bank bank;
+        try {
+            bank = Bank.of(form.getOrDefault("bank", ""));
+        } catch (IllegalArgumentException e) {
+            return ApiResult.invalid(Map.of("bank", "은행을 선택해주세요."));
+        }
+        state.put(key, bank.name());
+        state.advanceTo(reached);
+        return ApiResult.ok().with("bankName", bank.displayName());
+    }
+
+    private void delay() {
+        long millis = latency.toMillis();
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private byte[] resource(String name) {
+        return resources.computeIfAbsent(name, key -> {
+            try (InputStream in = CheckoutStubServer.class.getResourceAsStream("/stub/" + key)) {
+                if (in == null) {
+                    throw new ResourceNotFoundException();
+                }
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private byte[] bankIcon(String file) {
+        if (!BANK_ICONS.contains(file)) {
+            throw new ResourceNotFoundException();
+        }
+        return resources.computeIfAbsent(file, key -> {
+            String label = key.substring("icn-bank-".length(), key.length() - ".svg".length());
+            String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"40\" height=\"40\" viewBox=\"0 0 40 40\">"
+                + "<circle cx=\"20\" cy=\"20\" r=\"20\" fill=\"#" + String.format("%06x", label.hashCode() & 0x7f7f7f) + "\"/>"
+                + "<text x=\"20\" y=\"25\" font-size=\"12\" text-anchor=\"middle\" fill=\"#fff\">"
+                + label.substring(0, Math.min(2, label.length())).toUpperCase() + "</text></svg>";
+            return svg.getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    /**
+     * Replaces {@code {{key}}} placeholders with HTML-escaped state values; unknown keys become empty.
+     */
+    static String render(String template, Map<String, String> values) {
+        StringBuilder out = new StringBuilder(template.length());
+        int index = 0;
+        while (true) {
+            int open = template.indexOf("{{", index);
+            int close = open < 0 ? -1 : template.indexOf("}}", open);
+            if (close < 0) {
+                out.append(template, index, template.length());
+                return out.toString();
+            }
+            out.append(template, index, open);
+            out.append(escapeHtml(values.getOrDefault(template.substring(open + 2, close).trim(), "")));
+            index = close + 2;
+        }
+    }
+
+    private static String escapeHtml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".js")) {
+            return "text/javascript; charset=utf-8";
+        }
+        if (path.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        return "application/octet-stream";
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static final class ResourceNotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ResourceNotFoundException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Result of an API call, serialized as {@code {"ok": ..., "errors": {...}, ...}}.
+     */
+    private static final class ApiResult {
+        final int status;
+        final boolean ok;
+        final Map<String, String> fields = new LinkedHashMap<>();
+        final Map<String, String> errors;
+
+        private ApiResult(int status, Map<String, String> errors) {
+            this.status = status;
+            this.ok = status == 200;
+            this.errors = errors;
+        }
+
+        static ApiResult ok() {
+            return new ApiResult(200, Map.of());
+        }
+
+        static ApiResult invalid(Map<String, String> errors) {
+            return new ApiResult(400, errors);
+        }
+
+        static ApiResult outOfOrder() {
+            return new ApiResult(409, Map.of("step", "이전 단계를 먼저 완료해주세요."));
+        }
+
+        static ApiResult notFound() {
+            return new ApiResult(404, Map.of("action", "지원하지 않는 요청입니다."));
+        }
+
+        ApiResult with(String key, String value) {
+            fields.put(key, value);
+            return this;
+        }
+
+        String toJson() {
+            StringBuilder json = new StringBuilder("{\"ok\":").append(ok);
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                json.append(',').append(quote(field.getKey())).append(':').append(quote(field.getValue()));
+            }
+            json.append(",\"errors\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> error : errors.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                json.append(quote(error.getKey())).append(':').append(quote(error.getValue()));
+                first = false;
+            }
+            return json.append("}}").toString();
+        }
+
+        private static String quote(String value) {
+            StringBuilder quoted = new StringBuilder("\"");
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '"':
+                        quoted.append("\\\"");
+                        break;
+                    case '\\':
+                        quoted.append("\\\\");
+                        break;
+                    case '\n':
+                        quoted.append("\\n");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            quoted.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            quoted.append(c);
+                        }
+                }
+            }
+            return quoted.append('"').toString();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local reverse proxy that slows down or drops chosen requests on their way to a checkout origin.
+ * Point the browser at {@link #rewrite(String)} instead of the origin's URL. Each request whose path matches a
+ * {@link Rule} is held for the rule's delay before it is forwarded; with a failure rate, a seeded share of all
+ * requests is dropped without a response, which the browser sees as a broken connection.
+ * Redirects and cookies pass through unchanged, so the checkout keeps working as long as it uses relative URLs,
+ * as the {@link CheckoutStubServer} pages do.
+ */
+public class LatencyProxy implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LatencyProxy.class);
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    /** Headers the JDK client sets itself or refuses, and hop-by-hop headers that must not be forwarded. */
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+        "connection", "content-length", "date", "expect", "host", "keep-alive", "proxy-connection",
+        "te", "trailer", "transfer-encoding", "upgrade");
+
+    /**
+     * Delays requests whose path matches.
+     * @param path Matched against the whole request path, e.g. {@code /api/checkout/(deposit-bank|confirm)}.
+     * @param delay Added before the request is forwarded.
+     */
+    public record Rule(Pattern path, Duration delay) {
+        public static Rule of(String pathRegex, Duration delay) {
+            return new Rule(Pattern.compile(pathRegex), delay);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final URI target;
+    private final List<Rule> rules;
+    private final double failureRate;
+    private final Random random;
+
+    private LatencyProxy(HttpServer server, ExecutorService executor, URI target, List<Rule> rules, double failureRate, long seed) {
+        this.server = server;
+        this.executor = executor;
+        this.target = target;
+        this.rules = List.copyOf(rules);
+        this.failureRate = failureRate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Starts a proxy on a free loopback port.
+     * @param targetOrigin The origin to forward to, e.g. {@link CheckoutStubServer#baseUrl()}.
+     * @param rules Delays per path; the first matching rule applies.
+     * @param failureRate Share of requests, 0 to 1, that are dropped.
+     * @param seed Seeds which requests are dropped, so a run can be repeated.
+     * @return The running proxy.
+     */
+    public static LatencyProxy start(String targetOrigin, List<Rule> rules, double failureRate, long seed) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            URI target = URI.create(targetOrigin);
+            LatencyProxy proxy = new LatencyProxy(server, executor, target, rules, failureRate, seed);
+            server.createContext("/", proxy::handle);
+            server.setExecutor(executor);
+            server.start();
+            logger.info("Latency proxy listening on {} for {} ({} rules, {}% dropped)",
+                proxy.baseUrl(), targetOrigin, rules.size(), failureRate * 100);
+            return proxy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start latency proxy", e);
+        }
+    }
+
+    /**
+     * @return The proxy origin, e.g. {@code http://127.0.0.1:54321}.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @param url A URL on the target origin.
+     * @return The same URL on the proxy.
+     */
+    public String rewrite(String url) {
+        URI uri = URI.create(url);
+        String rest = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        return baseUrl() + rest;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getRawPath();
+            if (dropped()) {
+                logger.debug("Dropping {} {}", exchange.getRequestMethod(), path);
+                return;
+            }
+            for (Rule rule : rules) {
+                if (rule.path().matcher(path).matches()) {
+                    Thread.sleep(rule.delay().toMillis());
+                    break;
+                }
+            }
+            forward(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Proxying {} failed: {}", exchange.getRequestURI(), e.toString());
+            exchange.sendResponseHeaders(502, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized boolean dropped() {
+        return failureRate > 0 && random.nextDouble() < failureRate;
+    }
+
+    private void forward(HttpExchange exchange) throws IOException, InterruptedException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(target.resolve(exchange.getRequestURI().toString()))
+            .method(exchange.getRequestMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        HttpResponse<byte[]> response = CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT)) && !header.getKey().startsWith(":")) {
+                exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+            }
+        }
+        byte[] responseBody = response.body();
+        exchange.sendResponseHeaders(response.statusCode(), responseBody.length == 0 ? -1 : responseBody.length);
+        if (responseBody.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(responseBody);
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+(function () {
+  'use strict';
+
+  if (/[?&]variant=mobile\b/.test(location.search)) {
+    sessionStorage.setItem('checkout.variant', 'mobile');
+  }
+
+  function isMobile() {
+    return sessionStorage.getItem('checkout.variant') === 'mobile'
+      || /iPhone|iPad|Android|Mobile/.test(navigator.userAgent);
+  }
+
+  function $(selector, root) {
+    return (root || document).querySelector(selector);
+  }
+
+  function each(selector, callback) {
+    Array.prototype.forEach.call(document.querySelectorAll(selector), callback);
+  }
+
+  function show(el) { el.hidden = false; }
+  function hide(el) { el.hidden = true; }
+
+  function post(action, data) {
+    return fetch('/api/checkout/' + action, {
+      method: 'POST',
+      headers: {'Content-Type': 'application/x-www-form-urlencoded'},
+      body: new URLSearchParams(data || {})
+    }).then(function (response) { return response.json(); });
+  }
+
+  function clearErrors(root) {
+    Array.prototype.forEach.call(root.querySelectorAll('.error'), function (small) {
+      small.textContent = '';
+      hide(small);
+    });
+  }
+
+  function showErrors(root, errors, fallback) {
+    Object.keys(errors).forEach(function (field) {
+      var small = root.querySelector('[data-error-for="' + field + '"]') || fallback;
+      if (small) {
+        small.textContent = errors[field];
+        show(small);
+      }
+    });
+  }
+
+  each('[data-back]', function (button) {
+    button.addEventListener('click', function () {
+      location.href = button.getAttribute('data-back');
+    });
+  });
+
+  var pages = {
+    initial: function () {
+      $('#button-1').addEventListener('click', function () { show($('#consent-form')); });
+      $('#consent-cancel').addEventListener('click', function () { hide($('#consent-form')); });
+      $('#consent-confirm').addEventListener('click', function () {
+        post('start').then(function () { location.href = '/payment/order'; });
+      });
+    },
+
+    order: function () {
+      var form = $('#order-form');
+      var method = null;
+      each('[data-method]', function (button) {
+        button.addEventListener('click', function () {
+          method = button.getAttribute('data-method');
+          each('[data-method]', function (other) {
+            other.setAttribute('aria-pressed', String(other === button));
+          });
+        });
+      });
+      $('#request-button').addEventListener('click', function () {
+        show($('#memo-dialog'));
+        $('textarea[name="memo"]').focus();
+      });
+      $('#memo-save').addEventListener('click', function () {
+        post('memo', {memo: $('textarea[name="memo"]').value}).then(function (body) {
+          hide($('#memo-dialog'));
+          if (body.ok) {
+            var toast = $('#toast');
+            show(toast);
+            setTimeout(function () { hide(toast); }, 3000);
+          }
+        });
+      });
+      form.addEventListener('submit', function (event) {
+        event.preventDefault();
+        clearErrors(form);
+        post('customer', {name: form.elements.name.value, phone: form.elements.phone.value}).then(function (body) {
+          if (!body.ok) {
+            showErrors(form, body.errors);
+            return null;
+          }
+          if (method === null) {
+            showErrors(form, {method: '결제 수단을 선택해주세요.'});
+            return null;
+          }
+          return post('method', {method: method}).then(function (result) {
+            if (result.ok) {
+              location.href = '/payment/bank';
+            } else {
+              showErrors(form, result.errors);
+            }
+          });
+        });
+      });
+    },
+
+    bank: function () {
+      each('[data-bank]', function (button) {
+        button.addEventListener('click', function () {
+          post('refund-bank', {bank: button.getAttribute('data-bank')}).then(function (body) {
+            if (body.ok) {
+              location.href = '/payment/refund';
+            }
+          });
+        });
+      });
+    },
+
+    refund: function () {
+      var form = $('#refund-form');
+      form.addEventListener('submit', function (event) { event.preventDefault(); });
+      $('#refund-submit').addEventListener('click', function () {
+        clearErrors(form);
+        post('refund-account', {holder: form.elements.holder.value, account: form.elements.account.value}).then(function (body) {
+          if (!body.ok) {
+            showErrors(form, body.errors);
+            return;
+          }
+          if (isMobile()) {
+            location.href = '/payment/mobile/bank';
+            return;
+          }
+          var layer = $('#payment-layer');
+          var iframe = document.createElement('iframe');
+          iframe.id = '___tosspayments_iframe___';
+          iframe.name = '___tosspayments_iframe___';
+          iframe.title = '토스페이먼츠 결제';
+          iframe.src = '/payment/iframe';
+          layer.appendChild(iframe);
+          show(layer);
+        });
+      });
+    },
+
+    iframe: function () {
+      var receipt = null;
+      each('[data-bank]', function (link) {
+        link.addEventListener('click', function (event) {
+          event.preventDefault();
+          post('deposit-bank', {bank: link.getAttribute('data-bank')}).then(function (body) {
+            if (body.ok) {
+              $('#deposit-bank-name').textContent = body.bankName;
+              hide($('#bank-step'));
+              show($('#confirm-step'));
+            }
+          });
+        });
+      });
+      $('#receipt-toggle').addEventListener('click', function () { show($('#receipt-options')); });
+      each('[data-receipt]', function (option) {
+        option.addEventListener('click', function () {
+          receipt = option.getAttribute('data-receipt');
+          $('#receipt-selected').textContent = option.textContent;
+          hide($('#receipt-options'));
+        });
+      });
+      $('#confirm-button').addEventListener('click', function () {
+        var error = $('#confirm-error');
+        hide(error);
+        if (receipt === null || !$('#agreement').checked) {
+          error.textContent = '현금영수증 발급 여부와 필수 약관 동의를 확인해주세요.';
+          show(error);
+          return;
+        }
+        show($('#easy-pay-prompt'));
+        show($('#no-usage'));
+      });
+      $('#no-usage button').addEventListener('click', function () {
+        post('confirm', {cashReceipt: receipt, agreed: 'true'}).then(function (body) {
+          if (body.ok) {
+            window.top.location.href = '/payment/complete';
+          }
+        });
+      });
+    },
+
+    'mobile-bank': function () {
+      each('[data-bank]', function (item) {
+        item.addEventListener('click', function () {
+          post('deposit-bank', {bank: item.getAttribute('data-bank')}).then(function (body) {
+            if (body.ok) {
+              location.href = '/payment/mobile/confirm';
+            }
+          });
+        });
+      });
+    },
+
+    'mobile-confirm': function () {
+      var receipt = null;
+      var agreement = $('#agreement');
+      $('#receipt-button').addEventListener('click', function () { show($('#receipt-sheet')); });
+      each('[data-receipt]', function (option) {
+        option.addEventListener('click', function () {
+          receipt = option.getAttribute('data-receipt');
+          $('#receipt-selected').textContent = option.textContent;
+          hide($('#receipt-sheet'));
+        });
+      });
+      agreement.addEventListener('click', function () {
+        agreement.setAttribute('aria-checked', String(agreement.getAttribute('aria-checked') !== 'true'));
+      });
+      $('#confirm-button').addEventListener('click', function () {
+        var error = $('#confirm-error');
+        hide(error);
+        if (receipt === null || agreement.getAttribute('aria-checked') !== 'true') {
+          error.textContent = '현금영수증 발급 여부와 필수 약관 동의를 확인해주세요.';
+          show(error);
+          return;
+        }
+        hide($('#confirm-button').parentNode);
+        show($('#no-usage'));
+      });
+      $('#no-usage button').addEventListener('click', function () {
+        post('confirm', {cashReceipt: receipt, agreed: 'true'}).then(function (body) {
+          if (body.ok) {
+            location.href = '/payment/complete';
+          }
+        });
+      });
+    }
+  };
+
+  var page = pages[document.body.getAttribute('data-page')];
+  if (page) {
+    page();
+  }
+})();
@@ -0,0 +1,61 @@
+import java.util.List;
+
+import org.example.network.BlockingRule;
+import org.example.stub.Bank;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+
+/**
+ * Checks the built-in blocking rules against the URLs the page objects depend on. The bank icons are located by
+ * {@code img[src*='icn-bank-<bank>.svg']}, so blocking one of them breaks bank selection on the stub and on the
+ * real checkout alike.
+ */
+@Epic("Test Infrastructure")
+@Feature("Request blocking")
+@Tag("Unit")
+public class BlockingRuleTest {
+    private static final List<BlockingRule> RULES = BlockingRule.DEFAULTS;
+
+    @Test
+    @DisplayName("기본 규칙은 스텁의 모든 은행 아이콘을 허용")
+    public void testStubBankIconsAreAllowed() {
+        for (Bank bank : Bank.values()) {
+            String url = "http://127.0.0.1:51234/static/" + bank.iconFile();
+            Assertions.assertFalse(BlockingRule.blocks(RULES, "Image", url), url);
+        }
+    }
+
+    @Test
+    @DisplayName("기본 규칙은 다른 경로나 쿼리 문자열이 붙은 은행 아이콘도 허용")
+    public void testBankIconsElsewhereAreAllowed() {
+        for (String url : List.of(
+                "https://static.toss.im/assets/bank/icn-bank-shinhan.svg",
+                "https://cdn.example.com/img/icn-bank-shinhan.svg",
+                "https://cdn.example.com/img/icn-bank-kb.svg?v=20240101")) {
+            Assertions.assertFalse(BlockingRule.blocks(RULES, "Image", url), url);
+        }
+    }
+
+    @Test
+    @DisplayName("기본 규칙은 다른 이미지, 폰트, 분석 요청을 차단")
+    public void testOtherAssetsAreBlocked() {
+        Assertions.assertTrue(BlockingRule.blocks(RULES, "Image", "https://cdn.example.com/img/banner.png"));
+        Assertions.assertTrue(BlockingRule.blocks(RULES, "Image", "https://cdn.example.com/img/icn-card-shinhan.svg"));
+        Assertions.assertTrue(BlockingRule.blocks(RULES, "Font", "https://cdn.example.com/fonts/pretendard.woff2"));
+        Assertions.assertTrue(BlockingRule.blocks(RULES, "Script", "https://www.google-analytics.com/analytics.js"));
+        Assertions.assertTrue(BlockingRule.blocks(RULES, "XHR", "https://browser-intake-datadoghq.com/api/v2/rum"));
+    }
+
+    @Test
+    @DisplayName("기본 규칙은 결제에 필요한 문서, 스크립트, API 요청을 허용")
+    public void testCheckoutRequestsAreAllowed() {
+        Assertions.assertFalse(BlockingRule.blocks(RULES, "Document", "http://127.0.0.1:51234/payment/iframe"));
+        Assertions.assertFalse(BlockingRule.blocks(RULES, "Script", "https://cdn.example.com/js/checkout.js"));
+        Assertions.assertFalse(BlockingRule.blocks(RULES, "Fetch", "http://127.0.0.1:51234/api/checkout/confirm"));
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.example.flow.FlowForks;
+import org.example.flow.FlowStep;
+import org.example.flow.PrefixScheduler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+
+/**
+ * Checks that every flow of a {@link PrefixScheduler} starts from the state its own earlier steps leave behind,
+ * whatever order the flows run in. The session is a list of the steps it went through; each step fails if the
+ * list isn't exactly the steps before it in its flow.
+ */
+@Epic("Test Infrastructure")
+@Feature("Shared-prefix flows")
+@Tag("Unit")
+public class PrefixSchedulerTest {
+    private final Map<String, List<String>> saved = new HashMap<>();
+    private final FlowForks<List<String>> forks = new FlowForks<>() {
+        @Override
+        public boolean save(List<String> session, FlowStep<List<String>> step, String key) {
+            saved.put(key, new ArrayList<>(session));
+            return true;
+        }
+
+        @Override
+        public boolean restore(List<String> session, FlowStep<List<String>> step, String key) {
+            session.clear();
+            session.addAll(saved.get(key));
+            return true;
+        }
+
+        @Override
+        public void reset(List<String> session) {
+            session.clear();
+        }
+    };
+
+    private List<String> session;
+    private PrefixScheduler<List<String>> scheduler;
+
+    @BeforeEach
+    public void setup() {
+        session = new ArrayList<>();
+        scheduler = new PrefixScheduler<>(session, forks)
+            .add("payment", flow("navigate", "customer", "virtualAccount", "refundBank", "pay"))
+            .add("invalidRefundAccount", flow("navigate", "customer", "virtualAccount", "refundBank", "refundAccount", "error"))
+            .add("back", flow("navigate", "customer", "virtualAccount", "refundBank", "back"))
+            .add("card", flow("navigate", "customer", "card"));
+    }
+
+    @Test
+    @DisplayName("DFS 순서로 실행하면 공통 단계를 한 번만 진행")
+    public void testFlowsInOrderShareTheirPrefix() {
+        for (String name : scheduler.order()) {
+            scheduler.run(name);
+        }
+        PrefixScheduler.Stats stats = scheduler.stats();
+        Assertions.assertEquals(4, stats.flows());
+        Assertions.assertEquals(19, stats.declaredSteps());
+        if (Boolean.parseBoolean(System.getProperty("flow.fork", "true"))) {
+            Assertions.assertEquals(stats.uniqueSteps(), stats.executedSteps(), "each step should run once");
+            Assertions.assertEquals(0, stats.resets());
+        }
+    }
+
+    @Test
+    @DisplayName("순서를 뒤섞어 실행해도 각 흐름은 자기 앞 단계의 상태에서 시작")
+    public void testFlowsOutOfOrderStartFromTheirOwnPrefix() {
+        List<String> order = new ArrayList<>(scheduler.order());
+        Collections.reverse(order);
+        order.add(order.remove(1));
+        for (String name : order) {
+            scheduler.run(name);
+        }
+        Assertions.assertEquals(4, scheduler.stats().flows());
+    }
+
+    @Test
+    @DisplayName("다른 흐름이 실행 중이면 새 흐름은 세션을 공유하지 않고 실패")
+    public void testConcurrentFlowIsRejected() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrefixScheduler<List<String>> blocking = new PrefixScheduler<>(session, forks)
+            .add("slow", List.of(new FlowStep<>("slow", page -> {
+                started.countDown();
+                awaitQuietly(release);
+            })))
+            .add("other", flow("navigate"));
+        Thread runner = new Thread(() -> blocking.run("slow"));
+        runner.start();
+        try {
+            Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Assertions.assertThrows(IllegalStateException.class, () -> blocking.run("other"));
+        } finally {
+            release.countDown();
+            runner.join(10_000);
+        }
+        blocking.run("other");
+    }
+
+    /**
+     * @return Steps that each check the session has gone through exactly the steps before them.
+     */
+    private static List<FlowStep<List<String>>> flow(String... names) {
+        List<FlowStep<List<String>>> steps = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            List<String> before = List.of(names).subList(0, i);
+            steps.add(new FlowStep<>(name, session -> {
+                Assertions.assertEquals(before, session, "state before " + name);
+                session.add(name);
+            }));
+        }
+        return steps;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import org.example.data.CheckoutData;
+import org.example.data.CheckoutMessages;
+import org.example.flow.CheckoutFlows;
+import org.example.flow.FlowStep;
+import org.example.http.CheckoutHttpClient;
+import org.example.http.CheckoutResponse;
+import org.example.junit.CheckoutDataSource;
+import org.example.junit.CheckoutStubExtension;
+import org.example.junit.CheckoutUrl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+
+/**
+ * Browserless checks of the virtual account flow over the checkout API, with the same data and
+ * expected messages as the browser tests.
+ */
+@Epic("Payment Processing")
+@Feature("Virtual Account Payment - HTTP")
+@ExtendWith(CheckoutStubExtension.class)
+public class VirtualAccountHttpTest {
+    private static final CheckoutData TEST_DATA = CheckoutData.DEFAULT;
+
+    private CheckoutHttpClient client;
+
+    @BeforeEach
+    public void setup(@CheckoutUrl String baseUrl) {
+        client = new CheckoutHttpClient(baseUrl);
+    }
+
+    @Test
+    @DisplayName("[HTTP] 가상계좌 결제 테스트")
+    @Tags({@Tag("Smoke"), @Tag("Payment"), @Tag("Protocol")})
+    @Severity(SeverityLevel.CRITICAL)
+    public void testVirtualAccountPayment() {
+        for (FlowStep<CheckoutHttpClient> step : CheckoutFlows.virtualAccountHttp(TEST_DATA)) {
+            step.run(client);
+        }
+        String completionPage = client.completionPage();
+        Assertions.assertTrue(completionPage.contains("가상계좌 발급완료"));
+        Assertions.assertTrue(completionPage.contains(CheckoutMessages.PAYMENT_CONFIRMATION));
+    }
+
+    /**
+     * 생성된 이름/휴대폰번호/은행/계좌 조합마다 가상계좌가 발급되는지 확인합니다.
+     * 조합 수와 시드는 {@code -Ddata.count}, {@code -Ddata.seed}로, 파일 입력은 {@code -Ddata.file}로 바꿀 수 있습니다.
+     */
+    @ParameterizedTest(name = "{0}")
+    @CheckoutDataSource(count = 20)
+    @DisplayName("[HTTP] 고객/환불계좌 조합별 가상계좌 결제")
+    @Tags({@Tag("Payment"), @Tag("Protocol"), @Tag("DataDriven")})
+    public void testVirtualAccountPaymentPermutations(CheckoutData data) {
+        for (FlowStep<CheckoutHttpClient> step : CheckoutFlows.virtualAccountHttp(data)) {
+            step.run(client);
+        }
+        Assertions.assertTrue(client.completionPage().contains(CheckoutMessages.PAYMENT_CONFIRMATION));
+    }
+
+    @Test
+    @DisplayName("[HTTP] 결제 확인 시 발급 계좌와 안내 문구 반환")
+    @Tags({@Tag("Smoke"), @Tag("Payment"), @Tag("Protocol")})
+    public void testConfirmationReturnsVirtualAccount() {
+        client.completeInitialSteps().requireOk();
+        client.fillCustomerInformation(TEST_DATA.customerName(), TEST_DATA.phoneNumber());
+        client.selectVirtualAccountPayment().requireOk();
+        client.selectBank(TEST_DATA.refundBank()).requireOk();
+        client.fillRefundAccountInformation(TEST_DATA.refundAccountHolder(), TEST_DATA.refundAccountNumber()).requireOk();
+        client.selectFinalBank().requireOk();
+
+        CheckoutResponse confirmation = client.completePaymentConfirmation().requireOk();
+
+        Assertions.assertEquals(CheckoutMessages.PAYMENT_CONFIRMATION, confirmation.field("message"));
+        Assertions.assertFalse(confirmation.field("virtualAccount").isEmpty());
+        Assertions.assertTrue(client.completionPage().contains(confirmation.field("virtualAccount")));
+    }
+
+    @Test
+    @DisplayName("[HTTP] 이름과 휴대폰번호 잘못 입력")
+    @Tags({@Tag("Negative"), @Tag("Protocol")})
+    public void testInvalidCustomerInfoShowsError() {
+        client.completeInitialSteps().requireOk();
+        client.fillCustomerInformation("test", "123-1234-2454");
+
+        CheckoutResponse response = client.selectVirtualAccountPayment();
+
+        Assertions.assertFalse(response.ok());
+        Assertions.assertEquals(CheckoutMessages.INVALID_PHONE, response.error("phone"));
+    }
+
+    @Test
+    @DisplayName("[HTTP] 환불계좌 번호 잘못 입력")
+    @Tags({@Tag("Negative"), @Tag("Protocol")})
+    public void testRefundIncorrectInput() {
+        client.completeInitialSteps().requireOk();
+        client.fillCustomerInformation(TEST_DATA.customerName(), TEST_DATA.phoneNumber());
+        client.selectVirtualAccountPayment().requireOk();
+        client.selectBank(TEST_DATA.refundBank()).requireOk();
+
+        CheckoutResponse response = client.fillRefundAccountInformation(TEST_DATA.refundAccountHolder(), "2");
+
+        Assertions.assertFalse(response.ok());
+        Assertions.assertEquals(CheckoutMessages.INVALID_REFUND_ACCOUNT, response.error("account"));
+    }
+
+    @Test
+    @DisplayName("[HTTP] 이전 단계 없이 환불계좌 입력 시 거절")
+    @Tags({@Tag("Negative"), @Tag("Protocol")})
+    public void testOutOfOrderStepIsRejected() {
+        client.completeInitialSteps().requireOk();
+
+        CheckoutResponse response = client.fillRefundAccountInformation(TEST_DATA.refundAccountHolder(), TEST_DATA.refundAccountNumber());
+
+        Assertions.assertEquals(409, response.status());
+    }
+
+    @Test
+    @DisplayName("[HTTP] 요청사항 저장")
+    @Tags({@Tag("Protocol")})
+    public void testRequestContentSaved() {
+        client.completeInitialSteps().requireOk();
+
+        Assertions.assertTrue(client.saveRequestContent("요청사항 내용 입력 확인").ok());
+    }
+}
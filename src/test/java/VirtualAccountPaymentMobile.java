@@ -1,20 +1,41 @@
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
+import org.example.data.CheckoutData;
+import org.example.data.CheckoutMessages;
+import org.example.driver.BrowserProfile;
+import org.example.flow.CheckoutFlows;
+import org.example.flow.FlowStep;
+import org.example.flow.PrefixScheduler;
+import org.example.junit.CheckoutStubExtension;
+import org.example.junit.CheckoutUrl;
+import org.example.junit.DeviceMatrix;
+import org.example.junit.DriverPoolExtension;
+import org.example.junit.NetworkCaptureExtension;
+import org.example.junit.NetworkConditions;
+import org.example.junit.NetworkConditionsExtension;
+import org.example.junit.PooledBrowser;
+import org.example.junit.RequestBlockingExtension;
+import org.example.junit.TestNameExtension;
+import org.example.junit.WebVitalsExtension;
+import org.example.network.NetworkProfile;
 import org.example.pages.Utilities;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Tags;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -30,94 +51,72 @@ import io.qameta.allure.SeverityLevel;
  */
 @Epic("Payment Processing")
 @Feature("Virtual Account Payment - Mobile")
+@ExtendWith({DriverPoolExtension.class, CheckoutStubExtension.class, TestNameExtension.class, NetworkCaptureExtension.class,
+    WebVitalsExtension.class, NetworkConditionsExtension.class, RequestBlockingExtension.class})
+@PooledBrowser(BrowserProfile.MOBILE)
 public class VirtualAccountPaymentMobile {
     private static final Logger logger = LoggerFactory.getLogger(VirtualAccountPaymentMobile.class);
-    private static final String BASE_URL = "https://example.com/payment";
     private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(15);
 
     /**
-     * Test data for payment scenarios.
+     * Test data for payment scenarios, shared with the desktop and HTTP tests.
      */
-    private static final class TestData {
-        static final String CUSTOMER_NAME = "김지훈";
-        static final String PHONE_NUMBER = "010-4935-4537";
-        static final String REFUND_ACCOUNT_HOLDER = "박정웅";
-        static final String REFUND_ACCOUNT_NUMBER = "110306197943";
-    }
+    private static final CheckoutData TEST_DATA = CheckoutData.DEFAULT;
 
     private WebDriver driver;
     private Utilities paymentPage;
     private WebDriverWait wait;
+    private String baseUrl;
 
     /**
-     * 크롬드라이버를 모바일 환경으로 설정하고, 테스트 환경을 초기화합니다.
-     * 크롬 모바일 에뮬레이션을 사용하여 iPhone 11 Pro Max 환경을 설정합니다.
+     * 풀에서 모바일 환경(iPhone 11 Pro Max 에뮬레이션) 크롬드라이버를 받아 테스트 환경을 초기화합니다.
      */
     @BeforeEach
-    public void setup() {
+    public void setup(WebDriver driver, @CheckoutUrl String baseUrl) {
         logger.info("Setting up mobile test environment");
-        ChromeOptions options = new ChromeOptions();
-        Map<String, Object> deviceMetrics = new HashMap<>();
-        deviceMetrics.put("width", 414); // iPhone 11 Pro Max width
-        deviceMetrics.put("height", 896); // iPhone 11 Pro Max height
-        deviceMetrics.put("pixelRatio", 3.0);
-
-        Map<String, Object> mobileEmulation = new HashMap<>();
-        mobileEmulation.put("deviceMetrics", deviceMetrics);
-        mobileEmulation.put("userAgent", "Mozilla/5.0 (iPhone; CPU iPhone OS 13_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/13.1.2 Mobile/15E148 Safari/604.1");
-
-        options.setExperimentalOption("mobileEmulation", mobileEmulation);
-        options.addArguments("--remote-allow-origins=*");
-        driver = new ChromeDriver(options);
+        this.driver = driver;
+        this.baseUrl = baseUrl;
         wait = new WebDriverWait(driver, WAIT_TIMEOUT);
-        driver.manage().window().maximize();
         paymentPage = new Utilities(driver);
     }
 
     /**
-     * [Mobile] Happy path: 가상계좌 결제 테스트.
+     * [Mobile] 4G 환경에서 iframe 결제 요청이 느릴 때도 가상계좌가 발급되는지 확인합니다.
      */
     @Test
-    @DisplayName("[Mobile] 가상계좌 결제 테스트")
-    @Tags({@Tag("E2E"), @Tag("Payment"), @Tag("Mobile")})
-    @Severity(SeverityLevel.CRITICAL)
-    public void testVirtualAccountPayment() {
-        try {
-            logger.info("Starting mobile virtual account payment test");
-            paymentPage.navigateToPaymentPage(BASE_URL);
-            paymentPage.completeInitialSteps();
-            paymentPage.fillCustomerInformation(TestData.CUSTOMER_NAME, TestData.PHONE_NUMBER);
-            paymentPage.selectVirtualAccountPayment();
-            paymentPage.selectBank("Shinhan");
-            paymentPage.fillRefundAccountInformation(TestData.REFUND_ACCOUNT_HOLDER, TestData.REFUND_ACCOUNT_NUMBER);
-            paymentPage.selectFinalBankMobile();
-            paymentPage.completePaymentConfirmationMobile();
-            wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//h1[text()='가상계좌 발급완료']")
-            ));
-            logger.info("Mobile payment test completed successfully");
-        } catch (Exception e) {
-            logger.error("Mobile test failed", e);
-            throw e;
-        }
+    @NetworkConditions(value = NetworkProfile.FAST_4G,
+        delays = @NetworkConditions.Delay(path = "/payment/iframe|/api/checkout/(deposit-bank|confirm)", millis = 1500))
+    @DisplayName("[Mobile] 4G + iframe 결제 지연 시 가상계좌 결제")
+    @Tags({@Tag("E2E"), @Tag("Payment"), @Tag("Mobile"), @Tag("Network")})
+    @Severity(SeverityLevel.NORMAL)
+    public void testVirtualAccountPaymentWithSlowIframe() {
+        paymentPage.navigateToPaymentPage(baseUrl);
+        paymentPage.completeInitialSteps();
+        paymentPage.fillCustomerInformation(TEST_DATA.customerName(), TEST_DATA.phoneNumber());
+        paymentPage.selectVirtualAccountPayment();
+        paymentPage.selectBank(TEST_DATA.refundBank());
+        paymentPage.fillRefundAccountInformation(TEST_DATA.refundAccountHolder(), TEST_DATA.refundAccountNumber());
+        paymentPage.selectFinalBankMobile();
+        paymentPage.completePaymentConfirmationMobile();
+        Assertions.assertTrue(paymentPage.isPaymentConfirmed(), "느린 네트워크에서 결제 완료 문구가 보이지 않습니다.");
     }
 
     /**
-     * [Mobile] Negative: Invalid customer information input.
+     * [Mobile] Negative: Invalid customer information input. 등록된 기기마다 한 번씩 실행합니다 ({@code -Ddevices}로 선택).
      */
-    @Test
+    @DeviceMatrix
     @Tags({@Tag("E2E"), @Tag("Negative"), @Tag("Mobile")})
     @Severity(SeverityLevel.CRITICAL)
     @DisplayName("[Mobile] 이름과 휴대폰번호 잘못 입력")
     public void testInvalidCustomerInfoShowsError() {
-        paymentPage.navigateToPaymentPage(BASE_URL);
+        paymentPage.navigateToPaymentPage(baseUrl);
         paymentPage.completeInitialSteps();
         paymentPage.fillCustomerInformation("test", "123-1234-2454");
         paymentPage.selectVirtualAccountPayment();
-        // Assert error message is visible
-        wait.until(ExpectedConditions.visibilityOfElementLocated(
-            By.xpath("//*[@id=\"__next\"]/div[1]/div/form/section[1]/div/div[2]/small")
-        ));
+        // Assert error message is visible, checked on a DOM snapshot
+        paymentPage.verify()
+            .visible(By.xpath("//*[@id=\"__next\"]/div[1]/div/form/section[1]/div/div[2]/small"))
+            .within(WAIT_TIMEOUT);
     }
 
     /**
@@ -126,7 +125,7 @@ public class VirtualAccountPaymentMobile {
     @Test
     @DisplayName("[Mobile] 요청사항 내용 입력 확인")
     public void testRequestContentInput() {
-        paymentPage.navigateToPaymentPage(BASE_URL);
+        paymentPage.navigateToPaymentPage(baseUrl);
         paymentPage.completeInitialSteps();
         paymentPage.clickRequestButton();
         paymentPage.fillRequestContent("요청사항 내용 입력 확인");
@@ -136,7 +135,7 @@ public class VirtualAccountPaymentMobile {
             By successMessageLocator = By.xpath("//*[contains(text(), '요청사항을 저장했어요')]");
             WebElement messageElement = wait.until(ExpectedConditions.visibilityOfElementLocated(successMessageLocator));
             String actualMessage = messageElement.getText();
-            Assertions.assertEquals("요청사항을 저장했어요.", actualMessage, "성공 메시지가 예상과 다릅니다.");
+            Assertions.assertEquals(CheckoutMessages.REQUEST_SAVED, actualMessage, "성공 메시지가 예상과 다릅니다.");
             logger.info("성공 메시지 검증 완료!");
         } catch (Exception e) {
             Assertions.fail("저장 완료 메시지를 찾지 못했습니다.", e);
@@ -144,54 +143,36 @@ public class VirtualAccountPaymentMobile {
     }
 
     /**
-     * [Mobile] Negative: 환불계좌 정보 미입력 확인.
+     * [Mobile] 가상계좌 결제, 환불계좌 오입력, 뒤로 가기 흐름을 한 세션에서 실행합니다. 환불 은행 선택까지의 공통 단계는
+     * 한 번만 진행하고, 이후 흐름은 저장된 체크포인트에서 갈라져 나갑니다. 복원에 실패하면 처음부터 다시 진행합니다.
+     * 모든 흐름이 한 세션과 스케줄러를 공유하므로, 병렬 실행 중에도 같은 스레드에서 순서대로 실행합니다.
      */
-    @Test
-    @Tags({@Tag("E2E"), @Tag("Negative"), @Tag("Mobile")})
+    @TestFactory
+    @Execution(ExecutionMode.SAME_THREAD)
+    @Tags({@Tag("E2E"), @Tag("Payment"), @Tag("Mobile"), @Tag("Scheduled")})
     @Severity(SeverityLevel.CRITICAL)
-    @DisplayName("[Mobile] 환불계좌 정보 미입력 확인")
-    public void testRefundIncorrectInput() {
-        paymentPage.navigateToPaymentPage(BASE_URL);
-        paymentPage.completeInitialSteps();
-        paymentPage.fillCustomerInformation(TestData.CUSTOMER_NAME, TestData.PHONE_NUMBER);
-        paymentPage.selectVirtualAccountPayment();
-        paymentPage.selectBank("Shinhan");
-        paymentPage.fillRefundAccountInformation("박정웅", "2"); // Invalid account number
-        try {
-            By errorMessageLocator = By.xpath("//*[contains(text(), '존재하지 않는 계좌이거나')]");
-            WebElement messageElement = wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessageLocator));
-            String actualMessage = messageElement.getText();
-            Assertions.assertEquals("존재하지 않는 계좌이거나, 본인의 계좌가 아닙니다.", actualMessage);
-            logger.info("에러 메시지 검증 성공!");
-        } catch (Exception e) {
-            logger.error("에러 메시지를 찾지 못했습니다.", e);
-            Assertions.fail("에러 메시지가 예상대로 나타나지 않았습니다.");
-        }
-    }
-
-    @Test
-    @Tags({@Tag("E2E"), @Tag("EdgeCase")})
-    @Severity(SeverityLevel.NORMAL)
-    @DisplayName("환불계좌 정보 화면에서 뒤로 가기 버튼 클릭 후 결제하기 화면으로 돌아가기")
-    public void testChangeRefundBankAccount() {
-        paymentPage.navigateToPaymentPage(BASE_URL);
-        paymentPage.completeInitialSteps();
-        paymentPage.fillCustomerInformation(TestData.CUSTOMER_NAME, TestData.PHONE_NUMBER);
-        paymentPage.selectVirtualAccountPayment();
-        paymentPage.selectBank("Shinhan");
-
-        paymentPage.clickBackButton();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//h1[text()='결제하기']")));
+    @DisplayName("[Mobile] 공통 단계를 공유하는 결제 흐름")
+    public Stream<DynamicTest> testSharedPrefixFlows() {
+        List<FlowStep<Utilities>> payment = CheckoutFlows.virtualAccountMobile(baseUrl, TEST_DATA);
+        List<FlowStep<Utilities>> refundForm = CheckoutFlows.upTo(payment, "refundBank");
+        PrefixScheduler<Utilities> scheduler = new PrefixScheduler<>(paymentPage, CheckoutFlows.browserForks())
+            .add("가상계좌 결제", followedBy(payment, List.of(
+                new FlowStep<>("paymentConfirmed", page -> Assertions.assertTrue(page.isPaymentConfirmed(), "결제 완료 문구가 보이지 않습니다.")))))
+            .add("환불계좌 정보 잘못 입력", followedBy(refundForm, List.of(
+                new FlowStep<>("refundAccount", "박정웅|2", page -> page.fillRefundAccountInformation("박정웅", "2")),
+                new FlowStep<>("refundAccountError", page -> page.verify()
+                    .textEquals(By.xpath("//*[contains(text(), '존재하지 않는 계좌이거나')]"), CheckoutMessages.INVALID_REFUND_ACCOUNT)
+                    .within(WAIT_TIMEOUT)))))
+            .add("환불계좌 화면에서 뒤로 가기", followedBy(refundForm, List.of(
+                new FlowStep<>("back", page -> page.clickBackButton()),
+                new FlowStep<>("paymentPage", page -> wait.until(
+                    ExpectedConditions.visibilityOfElementLocated(By.xpath("//h1[text()='결제하기']")))))));
+        return scheduler.order().stream().map(name -> DynamicTest.dynamicTest(name, () -> scheduler.run(name)));
     }
 
-    /**
-     * Clean up after each test.
-     */
-    @AfterEach
-    public void teardown() {
-        logger.info("Cleaning up mobile test environment");
-        if (driver != null) {
-            driver.quit();
-        }
+    private static List<FlowStep<Utilities>> followedBy(List<FlowStep<Utilities>> steps, List<FlowStep<Utilities>> more) {
+        List<FlowStep<Utilities>> flow = new ArrayList<>(steps);
+        flow.addAll(more);
+        return flow;
     }
 }
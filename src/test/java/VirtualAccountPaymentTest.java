@@ -1,18 +1,30 @@
 import java.time.Duration;
 
+import org.example.data.CheckoutData;
+import org.example.data.CheckoutMessages;
+import org.example.flow.CheckoutFlows;
+import org.example.flow.FlowStep;
+import org.example.http.CheckoutHttpClient;
+import org.example.http.CheckoutResponse;
+import org.example.junit.CheckoutStubExtension;
+import org.example.junit.CheckoutUrl;
+import org.example.junit.DriverPoolExtension;
+import org.example.junit.NetworkCaptureExtension;
+import org.example.junit.NetworkConditionsExtension;
+import org.example.junit.RequestBlockingExtension;
+import org.example.junit.TestNameExtension;
+import org.example.junit.WebVitalsExtension;
 import org.example.pages.Utilities;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Tags;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -25,31 +37,26 @@ import io.qameta.allure.SeverityLevel;
 
 @Epic("Payment Processing")
 @Feature("Virtual Account Payment")
+@ExtendWith({DriverPoolExtension.class, CheckoutStubExtension.class, TestNameExtension.class, NetworkCaptureExtension.class,
+    WebVitalsExtension.class, NetworkConditionsExtension.class, RequestBlockingExtension.class})
 public class VirtualAccountPaymentTest {
     private static final Logger logger = LoggerFactory.getLogger(VirtualAccountPaymentTest.class);
-    private static final String BASE_URL = "https://example.com/payment";
     private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(15);
 
     // Test data
-    private static final class TestData {
-        static final String CUSTOMER_NAME = "김지훈";
-        static final String PHONE_NUMBER = "010-4935-4537";
-        static final String REFUND_ACCOUNT_HOLDER = "박정웅";
-        static final String REFUND_ACCOUNT_NUMBER = "110306197943";
-    }
+    private static final CheckoutData TEST_DATA = CheckoutData.DEFAULT;
 
     private WebDriver driver;
     private Utilities paymentPage;
     private WebDriverWait wait;
+    private String baseUrl;
 
     @BeforeEach
-    public void setup() {
+    public void setup(WebDriver driver, @CheckoutUrl String baseUrl) {
         logger.info("Setting up desktop test environment");
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--remote-allow-origins=*");
-        driver = new ChromeDriver(options);
+        this.driver = driver;
+        this.baseUrl = baseUrl;
         wait = new WebDriverWait(driver, WAIT_TIMEOUT);
-        driver.manage().window().maximize();
         paymentPage = new Utilities(driver);
     }
 
@@ -62,18 +69,18 @@ public class VirtualAccountPaymentTest {
             logger.info("Starting desktop virtual account payment test");
 
             // Navigate and complete initial steps
-            paymentPage.navigateToPaymentPage(BASE_URL);
+            paymentPage.navigateToPaymentPage(baseUrl);
             paymentPage.completeInitialSteps();
 
             // 고객 정보 입력
-            paymentPage.fillCustomerInformation(TestData.CUSTOMER_NAME, TestData.PHONE_NUMBER);
+            paymentPage.fillCustomerInformation(TEST_DATA.customerName(), TEST_DATA.phoneNumber());
 
             // 가상 계좌 결제 선택, 은행 선택
             paymentPage.selectVirtualAccountPayment();
-            paymentPage.selectBank("Shinhan");
+            paymentPage.selectBank(TEST_DATA.refundBank());
 
             // 환불계좌 정보 입력
-            paymentPage.fillRefundAccountInformation(TestData.REFUND_ACCOUNT_HOLDER, TestData.REFUND_ACCOUNT_NUMBER);
+            paymentPage.fillRefundAccountInformation(TEST_DATA.refundAccountHolder(), TEST_DATA.refundAccountNumber());
 
             // 결제 확인
             paymentPage.switchToPaymentIframe();
@@ -81,7 +88,7 @@ public class VirtualAccountPaymentTest {
             paymentPage.completePaymentConfirmation();
 
             // iframe에서 결제 완료 후 메인 페이지로 돌아가기
-            driver.switchTo().defaultContent();
+            paymentPage.switchToMainContent();
             // Verify payment confirmation
             logger.info("Waiting for payment confirmation message");
 
@@ -94,13 +101,32 @@ public class VirtualAccountPaymentTest {
         }
     }
 
-    // --- 이하 나머지 테스트 메서드는 동일, BASE_URL/클래스명만 교체해서 사용 ---
-    
-    @AfterEach
-    public void teardown() {
-        logger.info("Cleaning up test environment");
-        if (driver != null) {
-            driver.quit();
+    /**
+     * 같은 데이터로 브라우저 결제와 HTTP 결제를 진행해 발급 결과가 같은지 확인합니다.
+     */
+    @Test
+    @DisplayName("브라우저 결제와 HTTP 결제 결과 비교")
+    @Tags({@Tag("E2E"), @Tag("Payment"), @Tag("Protocol")})
+    @Severity(SeverityLevel.NORMAL)
+    public void testBrowserFlowMatchesHttpFlow() {
+        for (FlowStep<Utilities> step : CheckoutFlows.virtualAccountDesktop(baseUrl, TEST_DATA)) {
+            step.run(paymentPage);
         }
+        String browserAccount = paymentPage.getIssuedVirtualAccount();
+        Assertions.assertTrue(paymentPage.isPaymentConfirmed(), "브라우저 결제 완료 문구가 보이지 않습니다.");
+
+        CheckoutHttpClient client = new CheckoutHttpClient(baseUrl);
+        client.completeInitialSteps().requireOk();
+        client.fillCustomerInformation(TEST_DATA.customerName(), TEST_DATA.phoneNumber());
+        client.selectVirtualAccountPayment().requireOk();
+        client.selectBank(TEST_DATA.refundBank()).requireOk();
+        client.fillRefundAccountInformation(TEST_DATA.refundAccountHolder(), TEST_DATA.refundAccountNumber()).requireOk();
+        client.selectFinalBank().requireOk();
+        CheckoutResponse confirmation = client.completePaymentConfirmation().requireOk();
+
+        Assertions.assertEquals(browserAccount, confirmation.field("virtualAccount"), "발급된 가상계좌 번호가 다릅니다.");
+        Assertions.assertEquals(CheckoutMessages.PAYMENT_CONFIRMATION, confirmation.field("message"));
     }
+
+    // --- 이하 나머지 테스트 메서드는 동일, 클래스명만 교체해서 사용 ---
 }
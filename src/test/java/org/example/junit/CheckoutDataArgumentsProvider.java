@@ -0,0 +1,56 @@
+package org.example.junit;
+
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.example.data.CheckoutDataFile;
+import org.example.data.CheckoutDataGenerator;
+import org.example.data.DataPartition;
+import org.example.data.DataRecord;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams the data sets of a {@link CheckoutDataSource}: records are generated or read as JUnit pulls them,
+ * never collected into a list first. {@link CheckoutDataSource} carries {@code @Execution(SAME_THREAD)}, so
+ * JUnit pulls the next data set only after the previous invocation finished; run concurrently, it would
+ * submit every invocation as soon as it is pulled and all data sets would wait in the executor's queue.
+ * The stream does not make a run free of per-record cost: JUnit still registers a test descriptor for every
+ * invocation and keeps it until the run ends, and Allure writes a result file for each, so memory and
+ * report size grow with the number of data sets. Scale up with {@code -Ddata.count} or sharding accordingly.
+ * In a sharded run, each shard gets the data sets of its {@link DataPartition}.
+ */
+class CheckoutDataArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<CheckoutDataSource> {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutDataArgumentsProvider.class);
+
+    private CheckoutDataSource source;
+
+    @Override
+    public void accept(CheckoutDataSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        DataPartition partition = source.partitioned() ? DataPartition.ofShard() : DataPartition.ALL;
+        String file = System.getProperty("data.file", source.file());
+        Stream<DataRecord> records;
+        if (file.isBlank()) {
+            long count = Long.getLong("data.count", source.count());
+            long seed = Long.getLong("data.seed", source.seed());
+            logger.info("{}: {} generated data sets with seed {}, partition {}/{}",
+                context.getDisplayName(), count, seed, partition.index(), partition.count());
+            records = new CheckoutDataGenerator(seed).stream(count, partition);
+        } else {
+            logger.info("{}: data sets from {}, partition {}/{}", context.getDisplayName(), file, partition.index(), partition.count());
+            records = CheckoutDataFile.read(Paths.get(file), partition);
+        }
+        return records.map(record -> Arguments.of(Named.of(
+            "#" + record.index() + " " + record.data().customerName() + " / " + record.data().refundBank(), record.data())));
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.junit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Feeds a {@code @ParameterizedTest} with {@link org.example.data.CheckoutData} sets, streamed one at a time.
+ * The data comes from {@link #file()} if set, otherwise from a {@link org.example.data.CheckoutDataGenerator}.
+ * {@code -Ddata.file}, {@code -Ddata.count} and {@code -Ddata.seed} override the annotation for a run.
+ * The invocations of such a test run one after another, see {@link CheckoutDataArgumentsProvider}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Execution(ExecutionMode.SAME_THREAD)
+@ArgumentsSource(CheckoutDataArgumentsProvider.class)
+public @interface CheckoutDataSource {
+    /**
+     * A {@code .csv} or {@code .jsonl} file, relative to the working directory; empty to generate the data.
+     */
+    String file() default "";
+
+    /**
+     * Number of generated data sets.
+     */
+    long count() default 100;
+
+    /**
+     * Seed of the generated data sets; the same seed gives the same data.
+     */
+    long seed() default 42;
+
+    /**
+     * Split the data over the shards of a sharded run instead of running it all in one shard.
+     */
+    boolean partitioned() default true;
+}
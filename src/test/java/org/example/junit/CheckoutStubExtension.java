@@ -0,0 +1,56 @@
+package org.example.junit;
+
+import org.example.stub.CheckoutStubServer;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Points tests at a local {@link CheckoutStubServer}, started once and shared by the whole run.
+ * Set {@code -Dcheckout.baseUrl=...} to run against a real checkout page instead; the stub is then not started.
+ * Response latency of the stub is set with {@code -Dstub.latencyMs}; tests with {@link NetworkConditions} that
+ * delay endpoints or drop requests get the stub's URL behind a per-test latency proxy.
+ */
+public class CheckoutStubExtension implements ParameterResolver {
+    private static final Namespace NAMESPACE = Namespace.create(CheckoutStubExtension.class);
+    private static final String SERVER_KEY = "server";
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.isAnnotated(CheckoutUrl.class)
+            && parameterContext.getParameter().getType() == String.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        String configured = System.getProperty("checkout.baseUrl");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        return NetworkConditionsExtension.throughProxy(extensionContext, server(extensionContext).paymentUrl());
+    }
+
+    /**
+     * @return The shared stub server, started on first use and stopped when the run ends.
+     */
+    public static CheckoutStubServer server(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(SERVER_KEY, key -> new StubResource(CheckoutStubServer.start()), StubResource.class)
+            .server;
+    }
+
+    private static final class StubResource implements CloseableResource {
+        final CheckoutStubServer server;
+
+        StubResource(CheckoutStubServer server) {
+            this.server = server;
+        }
+
+        @Override
+        public void close() {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.junit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Runs a browser test once per emulated device, in place of {@code @Test}.
+ * The pooled session of each invocation is switched to the device through CDP before the test and switched
+ * back afterwards, so no browser is relaunched. Invocations run concurrently when parallel execution is on.
+ * Declare a {@link org.example.driver.DeviceProfile} parameter to receive the device.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@ExtendWith(DeviceMatrixExtension.class)
+public @interface DeviceMatrix {
+    /**
+     * Device names from {@link org.example.driver.DeviceProfiles}. When empty, the devices given by
+     * {@code -Ddevices} are used, or every registered device.
+     */
+    String[] value() default {};
+}
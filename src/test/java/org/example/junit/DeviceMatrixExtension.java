@@ -0,0 +1,130 @@
+package org.example.junit;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.example.driver.DeviceProfile;
+import org.example.driver.DeviceProfiles;
+import org.example.driver.DriverRegistry;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Expands a {@link DeviceMatrix} test into one invocation per device.
+ * Needs {@link DriverPoolExtension} on the test class to provide the session being emulated.
+ * Timings and outcomes per device are collected in a {@link DeviceMatrixReport}.
+ */
+public class DeviceMatrixExtension implements TestTemplateInvocationContextProvider {
+    private static final Namespace NAMESPACE = Namespace.create(DeviceMatrixExtension.class);
+    private static final String REPORT_KEY = "report";
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return AnnotationSupport.isAnnotated(context.getTestMethod(), DeviceMatrix.class);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        String[] names = AnnotationSupport.findAnnotation(context.getTestMethod(), DeviceMatrix.class)
+            .map(DeviceMatrix::value)
+            .orElse(new String[0]);
+        List<DeviceProfile> devices = names.length == 0
+            ? DeviceProfiles.selected()
+            : Arrays.stream(names).map(DeviceProfiles::byName).toList();
+        DeviceMatrixReport report = context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(REPORT_KEY, key -> new DeviceMatrixReport(), DeviceMatrixReport.class);
+        return devices.stream().map(device -> new DeviceInvocation(device, report));
+    }
+
+    private static final class DeviceInvocation implements TestTemplateInvocationContext {
+        private final DeviceProfile device;
+        private final DeviceMatrixReport report;
+
+        DeviceInvocation(DeviceProfile device, DeviceMatrixReport report) {
+            this.device = device;
+            this.report = report;
+        }
+
+        @Override
+        public String getDisplayName(int invocationIndex) {
+            return "[" + device.name() + "]";
+        }
+
+        @Override
+        public List<Extension> getAdditionalExtensions() {
+            return List.of(new DeviceEmulation(device, report));
+        }
+    }
+
+    /**
+     * Switches the bound session to the device for one invocation and times it.
+     * Method-level callbacks run inside {@link DriverPoolExtension}'s, so the session is bound before
+     * the switch and restored before it goes back to the pool.
+     */
+    private static final class DeviceEmulation implements BeforeEachCallback, BeforeTestExecutionCallback,
+            AfterTestExecutionCallback, AfterEachCallback, ParameterResolver {
+        private final DeviceProfile device;
+        private final DeviceMatrixReport report;
+        private long started;
+
+        DeviceEmulation(DeviceProfile device, DeviceMatrixReport report) {
+            this.device = device;
+            this.report = report;
+        }
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            device.emulate(chromeDriver());
+            Allure.parameter("device", device.name());
+        }
+
+        @Override
+        public void beforeTestExecution(ExtensionContext context) {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void afterTestExecution(ExtensionContext context) {
+            String test = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+            report.record(device, test, System.nanoTime() - started, context.getExecutionException().isEmpty());
+        }
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            DriverPoolExtension.profileOf(context).emulate(chromeDriver());
+        }
+
+        @Override
+        public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+            return parameterContext.getParameter().getType() == DeviceProfile.class;
+        }
+
+        @Override
+        public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+            return device;
+        }
+
+        private static ChromeDriver chromeDriver() {
+            WebDriver driver = DriverRegistry.current();
+            if (!(driver instanceof ChromeDriver)) {
+                throw new IllegalStateException("Device emulation needs a ChromeDriver session, got " + driver.getClass().getName());
+            }
+            return (ChromeDriver) driver;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.junit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.driver.DeviceProfile;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-device results of {@link DeviceMatrix} tests. Written when the test run ends, as a log table and as
+ * a TSV file at {@code -Ddevices.report} (default {@code target/device-matrix.tsv}) with one line per
+ * device and test.
+ */
+class DeviceMatrixReport implements CloseableResource {
+    private static final Logger logger = LoggerFactory.getLogger(DeviceMatrixReport.class);
+    private static final Path FILE = Paths.get(System.getProperty("devices.report", "target/device-matrix.tsv"));
+
+    private final Map<String, List<Result>> byDevice = new LinkedHashMap<>();
+
+    synchronized void record(DeviceProfile device, String test, long nanos, boolean passed) {
+        byDevice.computeIfAbsent(device.name(), name -> new ArrayList<>()).add(new Result(test, nanos / 1_000_000, passed));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (byDevice.isEmpty()) {
+            return;
+        }
+        StringBuilder table = new StringBuilder(String.format("%n%-20s %6s %6s %10s %10s%n", "device", "tests", "failed", "mean ms", "max ms"));
+        List<String> lines = new ArrayList<>();
+        lines.add("device\ttest\tmillis\tpassed");
+        byDevice.forEach((device, results) -> {
+            long total = 0;
+            long max = 0;
+            int failed = 0;
+            for (Result result : results) {
+                total += result.millis();
+                max = Math.max(max, result.millis());
+                failed += result.passed() ? 0 : 1;
+                lines.add(device + "\t" + result.test() + "\t" + result.millis() + "\t" + result.passed());
+            }
+            table.append(String.format("%-20s %6d %6d %10d %10d%n", device, results.size(), failed, total / results.size(), max));
+        });
+        logger.info("Device matrix results:{}", table);
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.write(FILE, lines);
+        } catch (IOException e) {
+            logger.warn("Could not write device matrix report to {}: {}", FILE, e.toString());
+        }
+    }
+
+    private record Result(String test, long millis, boolean passed) {
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.junit;
+
+import org.example.driver.BrowserProfile;
+import org.example.driver.DriverFactory;
+import org.example.driver.DriverRegistry;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Leases a pooled WebDriver for each test and hands it back afterwards.
+ * The driver is bound to the test thread through {@link DriverRegistry}; declare a {@link WebDriver}
+ * parameter on a {@code @BeforeEach} or test method to receive it.
+ */
+public class DriverPoolExtension implements BeforeEachCallback, ParameterResolver, AfterEachCallback {
+    private static final Namespace NAMESPACE = Namespace.create(DriverPoolExtension.class);
+    private static final String SHUTDOWN_KEY = "shutdown";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        registerShutdown(context);
+        DriverRegistry.bind(profileOf(context));
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return DriverRegistry.bind(profileOf(extensionContext));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        DriverRegistry.release();
+    }
+
+    static BrowserProfile profileOf(ExtensionContext context) {
+        return context.getTestClass()
+            .flatMap(type -> AnnotationSupport.findAnnotation(type, PooledBrowser.class))
+            .map(PooledBrowser::value)
+            .orElse(BrowserProfile.DESKTOP);
+    }
+
+    private static void registerShutdown(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SHUTDOWN_KEY,
+            key -> (CloseableResource) DriverFactory::shutdown, CloseableResource.class);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.junit;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.example.driver.DriverRegistry;
+import org.example.network.NetworkCapture;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Captures each test's network traffic when {@code -Dnetwork.capture=true}.
+ * Requests go to {@code target/network/<class>.<method>-<time>.jsonl} ({@code -Dnetwork.dir}), and a
+ * per-endpoint latency summary is attached to the test's Allure result.
+ * Register after {@link DriverPoolExtension}, so the driver is bound when capture starts and still bound when it stops.
+ */
+public class NetworkCaptureExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkCaptureExtension.class);
+    private static final Namespace NAMESPACE = Namespace.create(NetworkCaptureExtension.class);
+    private static final boolean ENABLED = Boolean.getBoolean("network.capture");
+    private static final Path DIR = Paths.get(System.getProperty("network.dir", "target/network"));
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!ENABLED) {
+            return;
+        }
+        String test = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+        Path file = DIR.resolve(test.replace('#', '.') + "-" + System.currentTimeMillis() + ".jsonl");
+        try {
+            context.getStore(NAMESPACE).put(NetworkCapture.class, NetworkCapture.start(DriverRegistry.current(), test, file));
+        } catch (RuntimeException e) {
+            logger.warn("Network capture not started for {}: {}", test, e.toString());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        NetworkCapture capture = context.getStore(NAMESPACE).remove(NetworkCapture.class, NetworkCapture.class);
+        if (capture == null) {
+            return;
+        }
+        capture.close();
+        Allure.addAttachment("network latency by endpoint", "text/tab-separated-values", capture.endpointSummary(), ".tsv");
+        logger.info("Network capture written to {}", capture.file());
+    }
+}
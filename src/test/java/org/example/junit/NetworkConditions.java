@@ -0,0 +1,39 @@
+package org.example.junit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.example.network.NetworkProfile;
+
+/**
+ * Runs a browser test under emulated network conditions. On a class, applies to every test in it; a method's
+ * own annotation wins. Applied by {@link NetworkConditionsExtension}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NetworkConditions {
+    NetworkProfile value();
+
+    /**
+     * The page step after which the browser goes offline, e.g. {@code selectBank}; empty to stay online.
+     */
+    String offlineAfter() default "";
+
+    /**
+     * Extra latency for matching checkout endpoints, injected by a local proxy in front of the checkout.
+     */
+    Delay[] delays() default {};
+
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Delay {
+        /**
+         * A regular expression matched against the whole request path, e.g. {@code /api/checkout/confirm}.
+         */
+        String path();
+
+        long millis();
+    }
+}
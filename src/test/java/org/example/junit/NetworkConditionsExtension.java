@@ -0,0 +1,143 @@
+package org.example.junit;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.example.driver.DriverRegistry;
+import org.example.network.NetworkEmulation;
+import org.example.network.NetworkProfile;
+import org.example.stub.LatencyProxy;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Runs each test under the network conditions declared with {@link NetworkConditions}, or under
+ * {@code -Dnetwork.profile} when the test declares none, and times its page steps.
+ * Tests without any conditions run unthrottled and untouched, so their page steps pay nothing for it.
+ * With {@code -Dnetwork.baseline=true} they are timed as well, as the baseline the
+ * {@link NetworkProfileReport} compares the other profiles with.
+ * Endpoint delays and the profile's failure rate are applied by a {@link LatencyProxy} that
+ * {@link CheckoutStubExtension} puts in front of the local stub for the test. Which requests the proxy drops is
+ * seeded with {@code -Dnetwork.seed}, or with the test's id, so a run can be repeated.
+ * Register after {@link DriverPoolExtension}, so the driver is bound while emulating.
+ */
+public class NetworkConditionsExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkConditionsExtension.class);
+    private static final Namespace NAMESPACE = Namespace.create(NetworkConditionsExtension.class);
+    private static final String REPORT_KEY = "report";
+    private static final String PROXY_KEY = "proxy";
+    private static final NetworkProfile DEFAULT_PROFILE =
+        NetworkProfile.valueOf(System.getProperty("network.profile", NetworkProfile.UNTHROTTLED.name()));
+    private static final boolean TIME_UNTHROTTLED = Boolean.getBoolean("network.baseline");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Optional<NetworkConditions> conditions = conditionsOf(context);
+        NetworkProfile profile = conditions.map(NetworkConditions::value).orElse(DEFAULT_PROFILE);
+        String offlineAfter = conditions.map(NetworkConditions::offlineAfter).orElse("");
+        boolean delayed = conditions.map(NetworkConditions::delays).map(delays -> delays.length > 0).orElse(false);
+        Allure.parameter("network", label(profile, offlineAfter));
+        if (conditionsLabel(context) == null && !TIME_UNTHROTTLED) {
+            return;
+        }
+        try {
+            context.getStore(NAMESPACE).put(NetworkEmulation.class,
+                NetworkEmulation.start(DriverRegistry.current(), profile, offlineAfter, delayed));
+        } catch (RuntimeException e) {
+            logger.warn("Network conditions not applied to {}: {}", context.getDisplayName(), e.toString());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        NetworkEmulation emulation = context.getStore(NAMESPACE).remove(NetworkEmulation.class, NetworkEmulation.class);
+        if (emulation == null) {
+            return;
+        }
+        Map<String, Long> steps = emulation.stepMillis();
+        emulation.close();
+        String offlineAfter = conditionsOf(context).map(NetworkConditions::offlineAfter).orElse("");
+        context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(REPORT_KEY, key -> new NetworkProfileReport(), NetworkProfileReport.class)
+            .record(label(emulation.profile(), offlineAfter), steps, context.getExecutionException().isEmpty());
+    }
+
+    /**
+     * Routes a checkout URL through a {@link LatencyProxy} when the test's conditions need one.
+     * The proxy is started on first use and stopped when the test ends.
+     * @param context The test's context.
+     * @param url A URL on the local stub.
+     * @return The URL on the proxy, or the URL itself if the test needs no proxy.
+     */
+    static String throughProxy(ExtensionContext context, String url) {
+        Optional<NetworkConditions> conditions = conditionsOf(context);
+        NetworkProfile profile = conditions.map(NetworkConditions::value).orElse(DEFAULT_PROFILE);
+        NetworkConditions.Delay[] delays = conditions.map(NetworkConditions::delays).orElse(new NetworkConditions.Delay[0]);
+        if (delays.length == 0 && profile.failureRate() == 0) {
+            return url;
+        }
+        List<LatencyProxy.Rule> rules = Arrays.stream(delays)
+            .map(delay -> LatencyProxy.Rule.of(delay.path(), Duration.ofMillis(delay.millis())))
+            .toList();
+        long seed = Long.getLong("network.seed", context.getUniqueId().hashCode());
+        return context.getStore(NAMESPACE)
+            .getOrComputeIfAbsent(PROXY_KEY, key -> new ProxyResource(LatencyProxy.start(originOf(url), rules, profile.failureRate(), seed)),
+                ProxyResource.class)
+            .proxy
+            .rewrite(url);
+    }
+
+    /**
+     * @return What makes the test's network differ from normal, e.g. {@code SLOW_3G} or
+     * {@code UNTHROTTLED with delays}; null when nothing does.
+     */
+    static String conditionsLabel(ExtensionContext context) {
+        Optional<NetworkConditions> conditions = conditionsOf(context);
+        NetworkProfile profile = conditions.map(NetworkConditions::value).orElse(DEFAULT_PROFILE);
+        String offlineAfter = conditions.map(NetworkConditions::offlineAfter).orElse("");
+        boolean delayed = conditions.map(NetworkConditions::delays).map(delays -> delays.length > 0).orElse(false);
+        if (profile.isUnthrottled() && offlineAfter.isBlank() && !delayed) {
+            return null;
+        }
+        return label(profile, offlineAfter) + (delayed ? " with delays" : "");
+    }
+
+    private static Optional<NetworkConditions> conditionsOf(ExtensionContext context) {
+        Optional<NetworkConditions> onMethod = AnnotationSupport.findAnnotation(context.getTestMethod(), NetworkConditions.class);
+        return onMethod.isPresent() ? onMethod : AnnotationSupport.findAnnotation(context.getTestClass(), NetworkConditions.class);
+    }
+
+    private static String label(NetworkProfile profile, String offlineAfter) {
+        return offlineAfter.isBlank() ? profile.name() : profile.name() + " offline after " + offlineAfter;
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private static final class ProxyResource implements CloseableResource {
+        final LatencyProxy proxy;
+
+        ProxyResource(LatencyProxy proxy) {
+            this.proxy = proxy;
+        }
+
+        @Override
+        public void close() {
+            proxy.close();
+        }
+    }
+}
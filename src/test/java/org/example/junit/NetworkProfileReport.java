@@ -0,0 +1,83 @@
+package org.example.junit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.network.NetworkProfile;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * How the checkout degrades under each network profile, from the tests {@link NetworkConditionsExtension} ran.
+ * Written when the test run ends, as a log table of success rates and as a TSV file at
+ * {@code -Dnetwork.report} (default {@code target/network-profiles.tsv}) with one line per profile and page step:
+ * the step's mean duration and how many times slower it was than unthrottled.
+ */
+class NetworkProfileReport implements CloseableResource {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkProfileReport.class);
+    private static final Path FILE = Paths.get(System.getProperty("network.report", "target/network-profiles.tsv"));
+
+    private final Map<String, ProfileResults> byProfile = new LinkedHashMap<>();
+
+    synchronized void record(String profile, Map<String, Long> stepMillis, boolean passed) {
+        ProfileResults results = byProfile.computeIfAbsent(profile, name -> new ProfileResults());
+        results.tests++;
+        results.passed += passed ? 1 : 0;
+        stepMillis.forEach((step, millis) -> {
+            long[] totals = results.steps.computeIfAbsent(step, name -> new long[2]);
+            totals[0] += millis;
+            totals[1]++;
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        // A run with nothing but unthrottled tests has nothing to compare.
+        if (byProfile.keySet().stream().allMatch(NetworkProfile.UNTHROTTLED.name()::equals)) {
+            return;
+        }
+        ProfileResults baseline = byProfile.get(NetworkProfile.UNTHROTTLED.name());
+        StringBuilder table = new StringBuilder(String.format("%n%-40s %6s %8s%n", "profile", "tests", "success"));
+        List<String> lines = new ArrayList<>();
+        lines.add("profile\ttests\tsuccess_rate\tstep\tsamples\tmean_ms\tslowdown");
+        byProfile.forEach((profile, results) -> {
+            double successRate = (double) results.passed / results.tests;
+            table.append(String.format("%-40s %6d %7.1f%%%n", profile, results.tests, successRate * 100));
+            results.steps.forEach((step, totals) -> {
+                double mean = (double) totals[0] / totals[1];
+                Double baselineMean = baseline == null ? null : baseline.mean(step);
+                String slowdown = baselineMean == null || baselineMean == 0 ? "" : String.format("%.2f", mean / baselineMean);
+                lines.add(String.format("%s\t%d\t%.3f\t%s\t%d\t%.1f\t%s",
+                    profile, results.tests, successRate, step, totals[1], mean, slowdown));
+            });
+        });
+        logger.info("Checkout success rate by network profile:{}", table);
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.write(FILE, lines);
+        } catch (IOException e) {
+            logger.warn("Could not write network profile report to {}: {}", FILE, e.toString());
+        }
+    }
+
+    private static final class ProfileResults {
+        int tests;
+        int passed;
+        /** Page step to its total milliseconds and number of samples. */
+        final Map<String, long[]> steps = new LinkedHashMap<>();
+
+        Double mean(String step) {
+            long[] totals = steps.get(step);
+            return totals == null ? null : (double) totals[0] / totals[1];
+        }
+    }
+}
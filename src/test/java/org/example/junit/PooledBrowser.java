@@ -0,0 +1,18 @@
+package org.example.junit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.example.driver.BrowserProfile;
+
+/**
+ * Selects the browser profile that {@link DriverPoolExtension} leases for a test class.
+ * Classes without this annotation get {@link BrowserProfile#DESKTOP}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PooledBrowser {
+    BrowserProfile value();
+}
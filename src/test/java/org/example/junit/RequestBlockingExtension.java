@@ -0,0 +1,80 @@
+package org.example.junit;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.example.driver.DriverRegistry;
+import org.example.network.AssetSizes;
+import org.example.network.BlockingRule;
+import org.example.network.RequestBlocker;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Skips non-essential page assets with a {@link RequestBlocker} when {@code -Dblocking=block}, or measures what
+ * that would save with {@code -Dblocking=measure}. Rules come from {@code -Dblocking.rules=<file>}, or
+ * {@link BlockingRule#DEFAULTS}. What each test saved is attached to its Allure result and collected in a
+ * {@link RequestBlockingReport}.
+ * Register after {@link DriverPoolExtension}, so the driver is bound while blocking.
+ */
+public class RequestBlockingExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(RequestBlockingExtension.class);
+    private static final Namespace NAMESPACE = Namespace.create(RequestBlockingExtension.class);
+    private static final String REPORT_KEY = "report";
+    private static final String SETTING = System.getProperty("blocking", "off").trim().toUpperCase(Locale.ROOT);
+    private static final List<BlockingRule> RULES = System.getProperty("blocking.rules") == null
+        ? BlockingRule.DEFAULTS
+        : BlockingRule.load(Paths.get(System.getProperty("blocking.rules")));
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if ("OFF".equals(SETTING)) {
+            return;
+        }
+        try {
+            RequestBlocker.Mode mode = RequestBlocker.Mode.valueOf(SETTING);
+            context.getStore(NAMESPACE).put(RequestBlocker.class,
+                RequestBlocker.start(DriverRegistry.current(), mode, RULES, AssetSizes.shared()));
+            context.getStore(NAMESPACE).put(RequestBlocker.Mode.class, mode);
+        } catch (RuntimeException e) {
+            logger.warn("Request blocking not started for {}: {}", context.getDisplayName(), e.toString());
+        }
+    }
+
+    /**
+     * @return The mode requests were handled in during the test, or null if nothing was intercepted.
+     * Still available after this extension's {@code afterEach}.
+     */
+    static RequestBlocker.Mode modeOf(ExtensionContext context) {
+        return context.getStore(NAMESPACE).get(RequestBlocker.Mode.class, RequestBlocker.Mode.class);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        RequestBlocker blocker = context.getStore(NAMESPACE).remove(RequestBlocker.class, RequestBlocker.class);
+        if (blocker == null) {
+            return;
+        }
+        blocker.close();
+        Map<String, RequestBlocker.Saved> saved = blocker.saved();
+        StringBuilder table = new StringBuilder("resourceType\trequests\tbytes\tunmeasured\n");
+        saved.forEach((type, totals) -> table.append(type).append('\t').append(totals.requests()).append('\t')
+            .append(totals.bytes()).append('\t').append(totals.unmeasured()).append('\n'));
+        String verb = blocker.mode() == RequestBlocker.Mode.BLOCK ? "blocked" : "blockable";
+        Allure.addAttachment("requests " + verb, "text/tab-separated-values", table.toString(), ".tsv");
+        RequestBlocker.Saved total = blocker.total();
+        String test = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+        logger.info("{}: {} requests {}, {} KB", test, total.requests(), verb, total.bytes() / 1024);
+        context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(REPORT_KEY, key -> new RequestBlockingReport(), RequestBlockingReport.class)
+            .record(test + " " + context.getDisplayName(), blocker.mode(), total);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.junit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.example.network.RequestBlocker;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Requests and bytes saved by request blocking, per test. Written when the test run ends, as a log line with
+ * the run's totals and as a TSV file at {@code -Dblocking.report} (default {@code target/request-blocking.tsv}).
+ */
+class RequestBlockingReport implements CloseableResource {
+    private static final Logger logger = LoggerFactory.getLogger(RequestBlockingReport.class);
+    private static final Path FILE = Paths.get(System.getProperty("blocking.report", "target/request-blocking.tsv"));
+
+    private final List<String> lines = new ArrayList<>(List.of("test\tmode\trequests\tbytes\tunmeasured"));
+    private RequestBlocker.Saved total = RequestBlocker.Saved.NONE;
+    private RequestBlocker.Mode mode;
+
+    synchronized void record(String test, RequestBlocker.Mode mode, RequestBlocker.Saved saved) {
+        this.mode = mode;
+        lines.add(test + "\t" + mode.name().toLowerCase(Locale.ROOT) + "\t" + saved.requests() + "\t" + saved.bytes() + "\t" + saved.unmeasured());
+        total = total.plus(saved);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (mode == null) {
+            return;
+        }
+        logger.info("Request blocking ({}): {} tests, {} requests, {} KB{}", mode.name().toLowerCase(Locale.ROOT), lines.size() - 1,
+            total.requests(), total.bytes() / 1024,
+            total.unmeasured() > 0 ? " (" + total.unmeasured() + " requests of unknown size; run with -Dblocking=measure once)" : "");
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.write(FILE, lines);
+        } catch (IOException e) {
+            logger.warn("Could not write request blocking report to {}: {}", FILE, e.toString());
+        }
+    }
+}
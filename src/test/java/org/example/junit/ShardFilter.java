@@ -0,0 +1,97 @@
+package org.example.junit;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs only the tests of one shard: {@code -Dshard.index=<i> -Dshard.count=<n>} (index from 0).
+ * Test methods are spread over the shards with {@link ShardPlan} using the recorded durations,
+ * read from {@code -Dshard.durationsSnapshot} if given (so forks started together agree on the plan
+ * even while one of them updates the history), otherwise from {@link TestDurations#FILE}.
+ * Tests with a partitioned {@link CheckoutDataSource} are the exception: they run in every shard on that
+ * shard's share of the data. Without {@code shard.count} every test is included.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ShardFilter.class);
+
+    private final int shardCount = Integer.getInteger("shard.count", 1);
+    private final int shardIndex = Integer.getInteger("shard.index", 0);
+    private final Map<TestDescriptor, ShardPlan> plans = new IdentityHashMap<>();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (shardCount <= 1) {
+            return FilterResult.included("sharding disabled");
+        }
+        String key = TestDurations.keyOf(descriptor.getSource().orElse(null));
+        if (key == null || descriptor.getParent().map(parent -> key.equals(TestDurations.keyOf(parent.getSource().orElse(null)))).orElse(false)) {
+            return FilterResult.included("not a test method");
+        }
+        if (partitionsData(descriptor)) {
+            return FilterResult.included("data set partitioned across shards");
+        }
+        int shard = planFor(rootOf(descriptor)).shardOf(key);
+        return shard == shardIndex
+            ? FilterResult.included("in shard " + shardIndex)
+            : FilterResult.excluded("in shard " + shard + " of " + shardCount);
+    }
+
+    private synchronized ShardPlan planFor(TestDescriptor root) {
+        return plans.computeIfAbsent(root, this::createPlan);
+    }
+
+    private ShardPlan createPlan(TestDescriptor root) {
+        List<String> tests = new ArrayList<>();
+        collect(root, tests);
+        String snapshot = System.getProperty("shard.durationsSnapshot");
+        Path history = snapshot != null ? Paths.get(snapshot) : TestDurations.FILE;
+        ShardPlan plan = new ShardPlan(tests, TestDurations.read(history), shardCount);
+        logger.info("Shard {}/{}: {} test methods in {}, estimated ms per shard {}",
+            shardIndex, shardCount, tests.size(), root.getDisplayName(), Arrays.toString(plan.totals()));
+        return plan;
+    }
+
+    private static void collect(TestDescriptor descriptor, List<String> tests) {
+        String key = TestDurations.keyOf(descriptor.getSource().orElse(null));
+        if (key != null) {
+            if (!partitionsData(descriptor)) {
+                tests.add(key);
+            }
+            return;
+        }
+        for (TestDescriptor child : descriptor.getChildren()) {
+            collect(child, tests);
+        }
+    }
+
+    /**
+     * Tests fed by a partitioned {@link CheckoutDataSource} run in every shard, each on its own share of the data.
+     */
+    private static boolean partitionsData(TestDescriptor descriptor) {
+        return descriptor.getSource()
+            .filter(MethodSource.class::isInstance)
+            .map(source -> ((MethodSource) source).getJavaMethod().getAnnotation(CheckoutDataSource.class))
+            .map(CheckoutDataSource::partitioned)
+            .orElse(false);
+    }
+
+    private static TestDescriptor rootOf(TestDescriptor descriptor) {
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        return root;
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.junit;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the test suite as {@code -Dshard.count} forked JVMs on this machine, one per shard, all at once
+ * ({@code mvn -Psharded test}). Each fork's output goes to {@code target/shards/shard-<i>.log}.
+ * The duration history is snapshotted before the forks start, so they all compute the same plan.
+ * System properties given to the launcher (driver, wait, stub and timeout settings) are passed on, and
+ * each fork checks that it received them (see {@link ShardRunner}). The profile runs the launcher
+ * inside the Maven JVM, where the {@code -D} options of the {@code mvn} command line are system
+ * properties, so {@code mvn -Psharded test -Dwait.timeout=20} reaches every shard.
+ * Throws, failing the build, if any shard failed.
+ */
+public final class ShardLauncher {
+    private static final String[] FORWARDED_PREFIXES = {
+        "browser.", "checkout.", "driver.", "stub.", "test.", "timeouts.", "wait.", "artifacts.", "network.", "vitals.", "data.", "blocking.", "flow.", "shard.durationsFile", "shard.defaultMs"
+    };
+
+    private ShardLauncher() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, URISyntaxException {
+        int shards = Integer.getInteger("shard.count", Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+        Path logDirectory = Files.createDirectories(Paths.get("target", "shards"));
+        Path snapshot = logDirectory.resolve("test-durations.snapshot.tsv");
+        if (Files.isRegularFile(TestDurations.FILE)) {
+            Files.copy(TestDurations.FILE, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(snapshot);
+        }
+
+        int workersPerShard = Math.max(1, Runtime.getRuntime().availableProcessors() / shards);
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = classpath();
+        List<String> forwarded = System.getProperties().stringPropertyNames().stream()
+            .filter(ShardLauncher::isForwarded)
+            .filter(name -> !name.equals("test.workers") || Integer.getInteger(name, 0) > 0)
+            .sorted()
+            .toList();
+        System.out.printf("Forwarding to the shards: %s%n", forwarded.isEmpty() ? "(nothing)" : String.join(", ", forwarded));
+        List<Process> processes = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int shard = 0; shard < shards; shard++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-cp");
+            command.add(classpath);
+            forwarded.forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+            command.add("-D" + ShardRunner.FORWARDED_KEY + "=" + String.join(",", forwarded));
+            if (Integer.getInteger("test.workers", 0) <= 0) {
+                // Split the cores between the forks instead of giving every fork all of them.
+                command.add("-Dtest.workers=" + workersPerShard);
+            }
+            if (System.getProperty("driver.pool.size") == null) {
+                command.add("-Ddriver.pool.size=" + workersPerShard);
+            }
+            command.add("-Dshard.count=" + shards);
+            command.add("-Dshard.index=" + shard);
+            command.add("-Dshard.durationsSnapshot=" + snapshot);
+            command.add(ShardRunner.class.getName());
+            File log = logDirectory.resolve("shard-" + shard + ".log").toFile();
+            processes.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start());
+            System.out.printf("Started shard %d/%d (log: %s)%n", shard, shards, log);
+        }
+
+        int failed = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            int exitCode = processes.get(shard).waitFor();
+            System.out.printf("Shard %d finished with exit code %d after %d s%n", shard, exitCode,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+            if (exitCode != 0) {
+                failed++;
+            }
+        }
+        System.out.printf("%d of %d shards failed, wall time %d s%n", failed, shards,
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        if (failed > 0) {
+            // Thrown rather than System.exit, which would also end the Maven JVM the launcher runs in.
+            throw new IllegalStateException(failed + " of " + shards + " shards failed, see " + logDirectory);
+        }
+    }
+
+    /**
+     * @return The test classpath: the exec plugin's class loader inside Maven, otherwise {@code java.class.path}.
+     */
+    private static String classpath() throws URISyntaxException {
+        if (!(ShardLauncher.class.getClassLoader() instanceof URLClassLoader loader)) {
+            return System.getProperty("java.class.path");
+        }
+        List<String> entries = new ArrayList<>();
+        for (URL url : loader.getURLs()) {
+            entries.add(Paths.get(url.toURI()).toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static boolean isForwarded(String name) {
+        for (String prefix : FORWARDED_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.junit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns tests to shards by longest-processing-time-first: tests are taken from the longest to the
+ * shortest and each goes to the shard with the least total so far. Ties are broken by name and
+ * shard index, so every fork computes the same plan from the same inputs.
+ */
+final class ShardPlan {
+    /** Weight for tests without history when no test has history either. */
+    static final long DEFAULT_WEIGHT_MS = Long.getLong("shard.defaultMs", 30_000);
+
+    private final Map<String, Integer> assignment = new HashMap<>();
+    private final long[] totals;
+
+    /**
+     * @param tests Test keys to distribute.
+     * @param history Known durations in milliseconds; tests missing from it weigh the median known duration.
+     * @param shards Number of shards.
+     */
+    ShardPlan(List<String> tests, Map<String, Long> history, int shards) {
+        totals = new long[shards];
+        long defaultWeight = medianOf(tests, history);
+        List<String> ordered = new ArrayList<>(tests);
+        ordered.sort(Comparator.<String>comparingLong(test -> history.getOrDefault(test, defaultWeight)).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+        for (String test : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < shards; shard++) {
+                if (totals[shard] < totals[lightest]) {
+                    lightest = shard;
+                }
+            }
+            assignment.put(test, lightest);
+            totals[lightest] += history.getOrDefault(test, defaultWeight);
+        }
+    }
+
+    int shardOf(String test) {
+        return assignment.getOrDefault(test, 0);
+    }
+
+    /**
+     * @return Estimated total milliseconds per shard.
+     */
+    long[] totals() {
+        return totals.clone();
+    }
+
+    private static long medianOf(List<String> tests, Map<String, Long> history) {
+        long[] known = tests.stream().filter(history::containsKey).mapToLong(history::get).sorted().toArray();
+        return known.length == 0 ? DEFAULT_WEIGHT_MS : known[known.length / 2];
+    }
+}
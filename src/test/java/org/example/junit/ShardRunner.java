@@ -0,0 +1,66 @@
+package org.example.junit;
+
+import java.io.PrintWriter;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Runs one shard of the test classes in this JVM; started by {@link ShardLauncher}, one process per shard.
+ * The shard is chosen by {@link ShardFilter} from {@code -Dshard.index}/{@code -Dshard.count}.
+ * Parallel execution is configured the same way as in the Surefire configuration.
+ * Before running, it checks that every system property the launcher listed in {@code -Dshard.forwarded}
+ * arrived, and exits with code 2 if one is missing.
+ */
+public final class ShardRunner {
+    /** Comma-separated names of the system properties the launcher forwarded to this shard. */
+    static final String FORWARDED_KEY = "shard.forwarded";
+
+    private ShardRunner() {
+    }
+
+    public static void main(String[] args) throws URISyntaxException {
+        String forwarded = System.getProperty(FORWARDED_KEY, "");
+        for (String name : forwarded.split(",")) {
+            if (!name.isEmpty() && System.getProperty(name) == null) {
+                System.out.printf("Shard %s did not receive -D%s from the launcher%n", System.getProperty("shard.index"), name);
+                System.exit(2);
+            }
+        }
+        if (!forwarded.isEmpty()) {
+            System.out.printf("Forwarded settings: %s%n", Arrays.stream(forwarded.split(","))
+                .map(name -> name + "=" + System.getProperty(name))
+                .collect(Collectors.joining(", ")));
+        }
+        Path testClasses = Paths.get(ShardRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(DiscoverySelectors.selectClasspathRoots(Set.of(testClasses)))
+            .configurationParameters(Map.of(
+                "junit.jupiter.execution.parallel.enabled", System.getProperty("test.parallel", "true"),
+                "junit.jupiter.execution.parallel.mode.default", "concurrent",
+                "junit.jupiter.execution.parallel.mode.classes.default", "concurrent",
+                "junit.jupiter.execution.parallel.config.strategy", "custom",
+                "junit.jupiter.execution.parallel.config.custom.class", WorkerCountStrategy.class.getName(),
+                WorkerCountStrategy.WORKERS_KEY, System.getProperty(WorkerCountStrategy.WORKERS_KEY, "0")))
+            .build();
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(request, summary);
+        TestExecutionSummary result = summary.getSummary();
+        result.printTo(new PrintWriter(System.out, true));
+        result.printFailuresTo(new PrintWriter(System.out, true), 20);
+        System.exit(result.getTotalFailureCount() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.junit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records how long each test method takes, for {@link ShardFilter} to balance shards with.
+ * Registered through {@code META-INF/services}, so it runs under Surefire and {@link ShardRunner} alike.
+ * A test template (e.g. a parameterized test) is recorded as a whole, not per invocation.
+ * Aborted and skipped tests are not recorded.
+ */
+public class TestDurationRecorder implements TestExecutionListener {
+    private static final Logger logger = LoggerFactory.getLogger(TestDurationRecorder.class);
+
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private volatile TestPlan testPlan;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        this.testPlan = testPlan;
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (isRecorded(testIdentifier)) {
+            started.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = started.remove(testIdentifier.getUniqueId());
+        if (start == null || testExecutionResult.getStatus() == TestExecutionResult.Status.ABORTED) {
+            return;
+        }
+        String key = TestDurations.keyOf(testIdentifier.getSource().orElse(null));
+        measured.put(key, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (measured.isEmpty()) {
+            return;
+        }
+        try {
+            TestDurations.merge(TestDurations.FILE, measured);
+            logger.info("Recorded durations of {} tests to {}", measured.size(), TestDurations.FILE);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not record test durations to {}: {}", TestDurations.FILE, e.toString());
+        }
+    }
+
+    /**
+     * Method-level descriptors only, and only the outermost one for a method, so the invocations of a
+     * test template don't overwrite the template's total.
+     */
+    private boolean isRecorded(TestIdentifier identifier) {
+        String key = TestDurations.keyOf(identifier.getSource().orElse(null));
+        if (key == null) {
+            return false;
+        }
+        TestPlan plan = testPlan;
+        return plan == null || plan.getParent(identifier)
+            .map(parent -> !key.equals(TestDurations.keyOf(parent.getSource().orElse(null))))
+            .orElse(true);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.junit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.example.stats.StatsFiles;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+/**
+ * Historical test durations, one {@code <millis>\t<Class#method>} line per test.
+ * New measurements are blended into the stored value (half old, half new) so one slow run
+ * doesn't reshuffle the shards.
+ */
+final class TestDurations {
+    /** Where durations are recorded, from {@code -Dshard.durationsFile}. */
+    static final Path FILE = Paths.get(System.getProperty("shard.durationsFile", ".stats/test-durations.tsv"));
+
+    private TestDurations() {
+    }
+
+    /**
+     * @return The key a test is recorded under, or null for sources that aren't methods.
+     */
+    static String keyOf(TestSource source) {
+        if (source instanceof MethodSource method) {
+            return method.getClassName() + "#" + method.getMethodName();
+        }
+        return null;
+    }
+
+    static Map<String, Long> read(Path file) {
+        Map<String, Long> durations = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    try {
+                        durations.put(line.substring(tab + 1), Long.parseLong(line.substring(0, tab)));
+                    } catch (NumberFormatException e) {
+                        // Skip malformed lines.
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test durations from " + file, e);
+        }
+        return durations;
+    }
+
+    /**
+     * Blends measured durations into the file, re-reading it under {@link StatsFiles}' lock so forks
+     * finishing at the same time don't drop each other's tests.
+     */
+    static void merge(Path file, Map<String, Long> measured) throws IOException {
+        StatsFiles.rewrite(file, () -> {
+            Map<String, Long> durations = new TreeMap<>(read(file));
+            measured.forEach((key, millis) -> durations.merge(key, millis, (old, current) -> (old + current) / 2));
+            List<String> lines = new ArrayList<>(durations.size());
+            durations.forEach((key, millis) -> lines.add(millis + "\t" + key));
+            return lines;
+        });
+    }
+}
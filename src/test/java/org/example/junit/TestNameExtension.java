@@ -0,0 +1,23 @@
+package org.example.junit;
+
+import org.example.jfr.StepContext;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Tags the test thread with the running test's {@code Class#method} name, so Flight Recorder page
+ * action events can be attributed to their test.
+ */
+public class TestNameExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        StepContext.setTestName(context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        StepContext.setTestName(null);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.junit;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.example.driver.DriverRegistry;
+import org.example.network.RequestBlocker;
+import org.example.perf.PageVitals;
+import org.example.perf.VitalsBaseline;
+import org.example.perf.WebVitals;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Measures the web vitals of every page a test visits when {@code -Dvitals.collect=true}, appends them to the
+ * {@link VitalsBaseline} history and fails the test when a page got slower than its baseline.
+ * {@code -Dvitals.failOnRegression=false} only logs regressions.
+ * Register after {@link DriverPoolExtension}, so the driver is bound while measuring.
+ */
+public class WebVitalsExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(WebVitalsExtension.class);
+    private static final Namespace NAMESPACE = Namespace.create(WebVitalsExtension.class);
+    private static final boolean ENABLED = Boolean.getBoolean("vitals.collect");
+    private static final boolean FAIL_ON_REGRESSION = Boolean.parseBoolean(System.getProperty("vitals.failOnRegression", "true"));
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            context.getStore(NAMESPACE).put(WebVitals.class, WebVitals.start(DriverRegistry.current()));
+        } catch (RuntimeException e) {
+            logger.warn("Web vitals not collected for {}: {}", testName(context), e.toString());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws IOException {
+        WebVitals vitals = context.getStore(NAMESPACE).remove(WebVitals.class, WebVitals.class);
+        if (vitals == null) {
+            return;
+        }
+        String test = testName(context);
+        List<PageVitals> pages = vitals.finish();
+        StringBuilder table = new StringBuilder("page\tmetric\tvalue\n");
+        pages.forEach(page -> page.metrics().forEach((metric, value) ->
+            table.append(page.page()).append('\t').append(metric).append('\t').append(value).append('\n')));
+        Allure.addAttachment("web vitals", "text/tab-separated-values", table.toString(), ".tsv");
+
+        VitalsBaseline baseline = VitalsBaseline.shared();
+        List<String> regressions = baseline.regressions(test, pages);
+        baseline.append(test, pages);
+        if (regressions.isEmpty()) {
+            return;
+        }
+        regressions.forEach(regression -> logger.warn("Web vitals regression: {}", regression));
+        // Skip the failure when the test already failed; its own error is the one to report.
+        if (FAIL_ON_REGRESSION && context.getExecutionException().isEmpty()) {
+            throw new AssertionError("Checkout got slower than its baseline:\n" + String.join("\n", regressions));
+        }
+    }
+
+    /**
+     * {@code Class#method}, plus the invocation's display name for test templates such as {@link DeviceMatrix},
+     * so each device keeps its own baseline. Runs under network conditions are marked with them, e.g.
+     * {@code [SLOW_3G]}, and blocking runs with {@code [blocked]}, so each is compared only with runs like it.
+     */
+    private static String testName(ExtensionContext context) {
+        String name = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+        boolean invocation = context.getParent().flatMap(ExtensionContext::getTestMethod).isPresent();
+        if (invocation) {
+            name += " " + context.getDisplayName();
+        }
+        String network = NetworkConditionsExtension.conditionsLabel(context);
+        if (network != null) {
+            name += " [" + network + "]";
+        }
+        if (RequestBlockingExtension.modeOf(context) == RequestBlocker.Mode.BLOCK) {
+            name += " [blocked]";
+        }
+        return name;
+    }
+}
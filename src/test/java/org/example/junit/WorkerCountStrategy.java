@@ -0,0 +1,53 @@
+package org.example.junit;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/**
+ * Parallel execution strategy driven by the {@code test.workers} parameter.
+ * A value of zero or less (the default) uses one worker per available core.
+ */
+public class WorkerCountStrategy implements ParallelExecutionConfigurationStrategy {
+    static final String WORKERS_KEY = "test.workers";
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int configured = configurationParameters.get(WORKERS_KEY, Integer::parseInt).orElse(0);
+        int workers = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        return new FixedConfiguration(workers);
+    }
+
+    private static final class FixedConfiguration implements ParallelExecutionConfiguration {
+        private final int workers;
+
+        FixedConfiguration(int workers) {
+            this.workers = workers;
+        }
+
+        @Override
+        public int getParallelism() {
+            return workers;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return workers;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return workers + 256;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return workers;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return 30;
+        }
+    }
+}